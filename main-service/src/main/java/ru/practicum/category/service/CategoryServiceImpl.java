@@ -8,6 +8,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.category.model.Category;
 import ru.practicum.category.repository.CategoryRepository;
+import ru.practicum.event.readmodel.PublishedEventReadModel;
 import ru.practicum.event.repository.EventRepository;
 import ru.practicum.errorHandler.IntegrityViolationException;
 import ru.practicum.errorHandler.NotFoundException;
@@ -22,6 +23,7 @@ import java.util.List;
 public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
     private final EventRepository eventRepository;
+    private final PublishedEventReadModel publishedEventReadModel;
 
     @Override
     @Transactional
@@ -61,6 +63,7 @@ public class CategoryServiceImpl implements CategoryService {
             }
         });
         updateCategory.setName(newCategory.getName());
+        publishedEventReadModel.renameCategory(catId, newCategory.getName());
         log.info("Категория была обновлена");
         return updateCategory;
     }
@@ -2,11 +2,25 @@ package ru.practicum.compilation.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.compilation.model.Compilation;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 public interface CompilationRepository extends JpaRepository<Compilation, Long> {
-    Page<Compilation> findAllByPinnedTrue(Pageable pageable);
+    @Query("select c.id from Compilation c")
+    Page<Long> findAllIds(Pageable pageable);
+
+    @Query("select c.id from Compilation c where c.pinned = :pinned")
+    Page<Long> findIdsByPinned(boolean pinned, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"events", "events.category", "events.initiator", "events.location"})
+    List<Compilation> findAllByIdIn(Collection<Long> ids);
 
-    Page<Compilation> findAllByPinnedFalse(Pageable pageable);
+    @EntityGraph(attributePaths = {"events", "events.category", "events.initiator", "events.location"})
+    Optional<Compilation> findWithEventsById(long id);
 }
@@ -3,6 +3,7 @@ package ru.practicum.compilation.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
@@ -17,6 +18,9 @@ import ru.practicum.event.repository.EventRepository;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -75,20 +79,21 @@ public class CompilationServiceImpl implements CompilationService {
     @Transactional(readOnly = true)
     public List<CompilationDto> getAllCompilations(Boolean pinned, int from, int size) {
         log.info("Начало процесса поиска всех подборок");
-        PageRequest pageRequest = PageRequest.of(from, size);
-        List<CompilationDto> compilationsDto;
+        PageRequest pageRequest = PageRequest.of(from, size, Sort.by("id"));
+        List<Long> ids;
 
         if (pinned == null) {
-            compilationsDto = compilationMapper.listCompilationToListCompilationDto(compilationRepository
-                    .findAll(pageRequest).getContent());
-        } else if (pinned) {
-            compilationsDto = compilationMapper.listCompilationToListCompilationDto(
-                    compilationRepository.findAllByPinnedTrue(pageRequest).getContent());
+            ids = compilationRepository.findAllIds(pageRequest).getContent();
         } else {
-            compilationsDto = compilationMapper.listCompilationToListCompilationDto(
-                    compilationRepository.findAllByPinnedFalse(pageRequest).getContent());
+            ids = compilationRepository.findIdsByPinned(pinned, pageRequest).getContent();
         }
 
+        Map<Long, Compilation> compilations = compilationRepository.findAllByIdIn(ids).stream()
+                .collect(Collectors.toMap(Compilation::getId, Function.identity()));
+        List<CompilationDto> compilationsDto = compilationMapper.listCompilationToListCompilationDto(ids.stream()
+                .map(compilations::get)
+                .toList());
+
         log.info("Поиск подборок закончен");
         return compilationsDto;
     }
@@ -97,7 +102,7 @@ public class CompilationServiceImpl implements CompilationService {
     @Transactional(readOnly = true)
     public CompilationDto getCompilationById(long compId) {
         log.info("Начало процесса поиска подборки по id");
-        Compilation compilation = compilationRepository.findById(compId).orElseThrow(
+        Compilation compilation = compilationRepository.findWithEventsById(compId).orElseThrow(
                 () -> new NotFoundException(String.format("Подборка с id=%d не существует", compId)));
         log.info("Поиск подборки закончен");
         return compilationMapper.compilationToCompilationDto(compilation);
@@ -0,0 +1,21 @@
+package ru.practicum.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+public class SearchFunctionContributor implements FunctionContributor {
+    private static final String QUERY = "(websearch_to_tsquery('russian', ?2) || websearch_to_tsquery('english', ?2))";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicTypeRegistry basicTypeRegistry = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+        functionContributions.getFunctionRegistry().registerPattern("fts_match",
+                "(?1 in (select sv.id from events sv where sv.search_vector @@ " + QUERY + "))",
+                basicTypeRegistry.resolve(StandardBasicTypes.BOOLEAN));
+        functionContributions.getFunctionRegistry().registerPattern("fts_rank",
+                "ts_rank((select sv.search_vector from events sv where sv.id = ?1), " + QUERY + ")",
+                basicTypeRegistry.resolve(StandardBasicTypes.DOUBLE));
+    }
+}
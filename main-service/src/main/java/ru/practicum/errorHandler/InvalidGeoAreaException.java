@@ -0,0 +1,7 @@
+package ru.practicum.errorHandler;
+
+public class InvalidGeoAreaException extends RuntimeException {
+    public InvalidGeoAreaException(String message) {
+        super(message);
+    }
+}
@@ -12,6 +12,8 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import ru.practicum.errorHandler.DataTimeException;
 import ru.practicum.errorHandler.IntegrityViolationException;
+import ru.practicum.errorHandler.InvalidCursorException;
+import ru.practicum.errorHandler.InvalidGeoAreaException;
 import ru.practicum.errorHandler.NotFoundException;
 import ru.practicum.errorHandler.RestrictionsViolationException;
 import ru.practicum.errorHandler.model.ApiError;
@@ -58,6 +60,30 @@ public class ExceptionController {
                 .build();
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ApiError handleInvalidCursorException(InvalidCursorException e) {
+        return ApiError.builder()
+                .status(HttpStatus.BAD_REQUEST.name())
+                .reason("Ошибка в курсоре постраничного вывода")
+                .message(e.getMessage())
+                .timestamp(LocalDateTime.now())
+                .errors(ExceptionUtils.getStackTrace(e))
+                .build();
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ApiError handleInvalidGeoAreaException(InvalidGeoAreaException e) {
+        return ApiError.builder()
+                .status(HttpStatus.BAD_REQUEST.name())
+                .reason("Ошибка в параметрах поиска по местоположению")
+                .message(e.getMessage())
+                .timestamp(LocalDateTime.now())
+                .errors(ExceptionUtils.getStackTrace(e))
+                .build();
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ApiError handleNotFoundException(NotFoundException e) {
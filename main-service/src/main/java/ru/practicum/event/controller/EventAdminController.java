@@ -1,5 +1,6 @@
 package ru.practicum.event.controller;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
@@ -9,10 +10,12 @@ import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.DateFormat;
+import ru.practicum.event.dto.CursorPage;
 import ru.practicum.event.dto.EventFullDto;
 import ru.practicum.event.dto.UpdateEventAdminRequest;
 import ru.practicum.event.model.State;
 import ru.practicum.event.service.EventService;
+import ru.practicum.like.dto.RatingRankDto;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -37,9 +40,19 @@ public class EventAdminController {
                                                 LocalDateTime rangeEnd,
                                                 @RequestParam(defaultValue = "0") @PositiveOrZero int from,
                                                 @RequestParam(defaultValue = "10") @Positive int size,
-                                                @RequestParam(defaultValue = "true") Boolean sortRating) {
-        log.info("Получен запрос на получение всех событий с параметрами: users={}, state={}, categories={}, rangeStart={}, rangeEnd={}, from={}, size={}, sortRating={}", users, state, categories, rangeStart, rangeEnd, from, size, sortRating);
-        return eventService.getAllAdminEvents(users, state, categories, rangeStart, rangeEnd, from, size, sortRating);
+                                                @RequestParam(defaultValue = "true") Boolean sortRating,
+                                                @RequestParam(required = false) String cursor,
+                                                HttpServletResponse response) {
+        log.info("Получен запрос на получение всех событий с параметрами: users={}, state={}, categories={}, rangeStart={}, rangeEnd={}, from={}, size={}, sortRating={}, cursor={}", users, state, categories, rangeStart, rangeEnd, from, size, sortRating, cursor);
+        if (cursor == null && from != 0) {
+            return eventService.getAllAdminEvents(users, state, categories, rangeStart, rangeEnd, from, size, sortRating);
+        }
+        CursorPage<EventFullDto> page = eventService.getAdminEventsPage(users, state, categories, rangeStart, rangeEnd,
+                cursor, size, sortRating);
+        if (page.getNextCursor() != null) {
+            response.setHeader(EventPublicController.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return page.getContent();
     }
 
     @PatchMapping("/{eventId}")
@@ -48,4 +61,10 @@ public class EventAdminController {
         log.info("Получен запрос на обновление события с id={}", eventId);
         return eventService.updateEventAdmin(updateEventAdminRequest, eventId);
     }
+
+    @GetMapping("/{eventId}/rank")
+    public RatingRankDto getEventRatingRank(@PathVariable long eventId) {
+        log.info("Получен запрос на получение места в рейтинге события с id={}", eventId);
+        return eventService.getEventRatingRank(eventId);
+    }
 }
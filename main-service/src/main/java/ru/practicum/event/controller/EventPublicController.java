@@ -1,6 +1,7 @@
 package ru.practicum.event.controller;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
@@ -11,13 +12,16 @@ import org.springframework.web.bind.annotation.*;
 import ru.practicum.DateFormat;
 import ru.practicum.StatClient;
 import ru.practicum.config.AppConfig;
+import ru.practicum.event.dto.CursorPage;
 import ru.practicum.event.dto.EventFullDto;
 import ru.practicum.event.dto.EventShortDto;
 import ru.practicum.event.enums.EventPublicSort;
+import ru.practicum.event.geo.GeoArea;
 import ru.practicum.event.service.EventService;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/events")
@@ -25,6 +29,8 @@ import java.util.List;
 @Validated
 @RequiredArgsConstructor
 public class EventPublicController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final EventService eventService;
     private final StatClient statClient;
     private final AppConfig appConfig;
@@ -43,10 +49,29 @@ public class EventPublicController {
                                                   @RequestParam(defaultValue = "EVENT_DATE") EventPublicSort sort,
                                                   @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
                                                   @RequestParam(defaultValue = "10") @Positive Integer size,
-                                                  HttpServletRequest request) {
+                                                  @RequestParam(required = false) String cursor,
+                                                  @RequestParam(required = false) Double lat,
+                                                  @RequestParam(required = false) Double lon,
+                                                  @RequestParam(required = false) Double radius,
+                                                  HttpServletRequest request,
+                                                  HttpServletResponse response) {
         log.info("Получен запрос на получение всех событий по тексту: {}", text);
-        List<EventShortDto> allPublicEvents = eventService.getAllPublicEvents(text, categories, paid,
-                rangeStart, rangeEnd, onlyAvailable, sort, from, size);
+        List<EventShortDto> allPublicEvents;
+        Optional<GeoArea> area = GeoArea.of(lat, lon, radius);
+        if (area.isPresent()) {
+            allPublicEvents = eventService.getPublicEventsNear(text, categories, paid,
+                    rangeStart, rangeEnd, onlyAvailable, area.get(), from, size);
+        } else if (sort != EventPublicSort.RELEVANCE && (cursor != null || from == 0)) {
+            CursorPage<EventShortDto> page = eventService.getPublicEventsPage(text, categories, paid,
+                    rangeStart, rangeEnd, onlyAvailable, sort, cursor, size);
+            if (page.getNextCursor() != null) {
+                response.setHeader(NEXT_CURSOR_HEADER, page.getNextCursor());
+            }
+            allPublicEvents = page.getContent();
+        } else {
+            allPublicEvents = eventService.getAllPublicEvents(text, categories, paid,
+                    rangeStart, rangeEnd, onlyAvailable, sort, from, size);
+        }
         statClient.saveHit(appConfig.getAppName(), request);
         return allPublicEvents;
     }
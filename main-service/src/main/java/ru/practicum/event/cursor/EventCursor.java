@@ -0,0 +1,93 @@
+package ru.practicum.event.cursor;
+
+import com.querydsl.core.types.dsl.BooleanExpression;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.Sort;
+import ru.practicum.errorHandler.InvalidCursorException;
+import ru.practicum.event.dto.EventShortDto;
+import ru.practicum.event.enums.EventKeyset;
+import ru.practicum.event.model.Event;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import static ru.practicum.event.model.QEvent.event;
+
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class EventCursor {
+    private static final String SEPARATOR = "|";
+
+    private final EventKeyset keyset;
+    private final String value;
+    private final long id;
+
+    public static EventCursor after(EventKeyset keyset, Event last) {
+        return after(keyset, last.getId(), last.getEventDate(), last.getViews(), last.getRating());
+    }
+
+    public static EventCursor after(EventKeyset keyset, EventShortDto last) {
+        return after(keyset, last.getId(), last.getEventDate(), last.getViews(), last.getRating());
+    }
+
+    public static EventCursor decode(String token, EventKeyset keyset) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = decoded.split("\\|", -1);
+            if (parts.length != 3 || !parts[0].equals(keyset.name())) {
+                throw new InvalidCursorException("Курсор не соответствует выбранной сортировке");
+            }
+            EventCursor cursor = new EventCursor(keyset, parts[1], Long.parseLong(parts[2]));
+            cursor.predicate();
+            return cursor;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Некорректный курсор: " + token);
+        }
+    }
+
+    public static Sort sort(EventKeyset keyset) {
+        return switch (keyset) {
+            case EVENT_DATE -> Sort.by(Sort.Direction.ASC, "eventDate", "id");
+            case VIEWS -> Sort.by(Sort.Direction.ASC, "views", "id");
+            case RATING -> Sort.by(Sort.Direction.DESC, "rating", "id");
+            case ID -> Sort.by(Sort.Direction.ASC, "id");
+        };
+    }
+
+    public BooleanExpression predicate() {
+        return switch (keyset) {
+            case EVENT_DATE -> {
+                LocalDateTime eventDate = LocalDateTime.parse(value);
+                yield event.eventDate.gt(eventDate).or(event.eventDate.eq(eventDate).and(event.id.gt(id)));
+            }
+            case VIEWS -> {
+                long views = Long.parseLong(value);
+                yield event.views.gt(views).or(event.views.eq(views).and(event.id.gt(id)));
+            }
+            case RATING -> {
+                long rating = Long.parseLong(value);
+                yield event.rating.lt(rating).or(event.rating.eq(rating).and(event.id.lt(id)));
+            }
+            case ID -> event.id.gt(id);
+        };
+    }
+
+    private static EventCursor after(EventKeyset keyset, long id, LocalDateTime eventDate, Long views, Long rating) {
+        String value = switch (keyset) {
+            case EVENT_DATE -> eventDate.toString();
+            case VIEWS -> views.toString();
+            case RATING -> rating.toString();
+            case ID -> "";
+        };
+        return new EventCursor(keyset, value, id);
+    }
+
+    public String encode() {
+        String raw = keyset.name() + SEPARATOR + value + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,6 +1,7 @@
 package ru.practicum.event.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -35,8 +36,11 @@ public class EventFullDto {
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = DateFormat.DATE_TIME_FORMAT)
     LocalDateTime publishedOn;
     Boolean requestModeration;
+    Boolean flashRegistration;
     State state;
     String title;
     Long rating;
     Long views;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    Boolean viewsStale;
 }
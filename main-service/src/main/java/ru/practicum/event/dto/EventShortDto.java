@@ -1,6 +1,7 @@
 package ru.practicum.event.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -28,4 +29,8 @@ public class EventShortDto {
     String title;
     Long rating;
     Long views;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    Boolean viewsStale;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    Double distance;
 }
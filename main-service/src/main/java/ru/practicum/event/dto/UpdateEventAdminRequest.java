@@ -30,6 +30,7 @@ public class UpdateEventAdminRequest implements UpdateEventRequest {
     @PositiveOrZero
     Long participantLimit;
     Boolean requestModeration;
+    Boolean flashRegistration;
     @Size(min = 3, max = 120)
     String title;
     StateActionAdmin stateAction;
@@ -2,14 +2,17 @@ package ru.practicum.event.dto.mapper;
 
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import ru.practicum.category.dto.CategoryDto;
 import ru.practicum.event.dto.EventFullDto;
 import ru.practicum.event.dto.EventShortDto;
 import ru.practicum.event.dto.NewEventDto;
 import ru.practicum.event.model.Event;
+import ru.practicum.event.readmodel.PublishedEvent;
+import ru.practicum.user.dto.UserShortDto;
 
 import java.util.List;
 
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", imports = {CategoryDto.class, UserShortDto.class})
 public interface EventMapper {
 
     @Mapping(target = "category", expression = "java(null)")
@@ -20,4 +23,14 @@ public interface EventMapper {
     List<EventShortDto> listEventToListEventShortDto(List<Event> events);
 
     List<EventFullDto> listEventToListEventFullDto(List<Event> events);
+
+    @Mapping(target = "category",
+            expression = "java(new CategoryDto(publishedEvent.categoryId(), publishedEvent.categoryName()))")
+    @Mapping(target = "initiator",
+            expression = "java(new UserShortDto(publishedEvent.initiatorId(), publishedEvent.initiatorName()))")
+    @Mapping(target = "viewsStale", ignore = true)
+    @Mapping(target = "distance", ignore = true)
+    EventShortDto publishedEventToEventShortDto(PublishedEvent publishedEvent);
+
+    List<EventShortDto> listPublishedEventToListEventShortDto(List<PublishedEvent> publishedEvents);
 }
@@ -0,0 +1,8 @@
+package ru.practicum.event.enums;
+
+public enum EventKeyset {
+    EVENT_DATE,
+    VIEWS,
+    RATING,
+    ID
+}
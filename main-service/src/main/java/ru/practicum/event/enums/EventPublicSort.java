@@ -3,5 +3,6 @@ package ru.practicum.event.enums;
 public enum EventPublicSort {
     EVENT_DATE,
     VIEWS,
-    RATING
+    RATING,
+    RELEVANCE
 }
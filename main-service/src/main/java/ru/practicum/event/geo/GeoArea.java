@@ -0,0 +1,56 @@
+package ru.practicum.event.geo;
+
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberExpression;
+import ru.practicum.errorHandler.InvalidGeoAreaException;
+
+import java.util.Optional;
+
+import static ru.practicum.event.model.QEvent.event;
+
+public record GeoArea(double lat, double lon, double radiusKm) {
+    public static final double MAX_RADIUS_KM = 1000;
+
+    public static Optional<GeoArea> of(Double lat, Double lon, Double radiusKm) {
+        if (lat == null && lon == null && radiusKm == null) {
+            return Optional.empty();
+        }
+        if (lat == null || lon == null || radiusKm == null) {
+            throw new InvalidGeoAreaException("Для поиска по местоположению нужно указать lat, lon и radius");
+        }
+        if (lat < -90 || lat > 90 || lon < -180 || lon > 180) {
+            throw new InvalidGeoAreaException(String.format("Некорректные координаты: lat=%s, lon=%s", lat, lon));
+        }
+        if (radiusKm <= 0 || radiusKm > MAX_RADIUS_KM) {
+            throw new InvalidGeoAreaException(String.format("Радиус поиска должен быть больше 0 и не больше %.0f км",
+                    MAX_RADIUS_KM));
+        }
+        return Optional.of(new GeoArea(lat, lon, radiusKm));
+    }
+
+    public Predicate predicate() {
+        BooleanBuilder cells = new BooleanBuilder();
+        for (long[] range : GeoHash.cover(lat, lon, radiusKm)) {
+            cells.or(event.location.geohash.between(range[0], range[1]));
+        }
+        return cells.getValue();
+    }
+
+    public NumberExpression<Double> haversine() {
+        return Expressions.numberTemplate(Double.class,
+                "power(sin((cast({0} as double) - {1}) * {2} / 2), 2) "
+                        + "+ {3} * cos(cast({0} as double) * {2}) * power(sin((cast({4} as double) - {5}) * {2} / 2), 2)",
+                event.location.lat, lat, Math.PI / 180, Math.cos(Math.toRadians(lat)), event.location.lon, lon);
+    }
+
+    public Predicate within() {
+        double halfAngle = Math.sin(radiusKm / GeoHash.EARTH_RADIUS_KM / 2);
+        return new BooleanBuilder(predicate()).and(haversine().loe(halfAngle * halfAngle)).getValue();
+    }
+
+    public double distanceTo(double otherLat, double otherLon) {
+        return GeoHash.distanceKm(lat, lon, otherLat, otherLon);
+    }
+}
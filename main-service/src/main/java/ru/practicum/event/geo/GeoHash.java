@@ -0,0 +1,97 @@
+package ru.practicum.event.geo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+public final class GeoHash {
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private static final int BITS_PER_AXIS = 26;
+    private static final long CELLS_PER_AXIS = 1L << BITS_PER_AXIS;
+    private static final int REFINEMENT_LEVELS = 2;
+
+    private GeoHash() {
+    }
+
+    public static long encode(double lat, double lon) {
+        return interleave(lonIndex(lon), latIndex(lat));
+    }
+
+    public static List<long[]> cover(double lat, double lon, double radiusKm) {
+        double latDelta = Math.toDegrees(radiusKm / EARTH_RADIUS_KM);
+        double minLat = Math.max(-90, lat - latDelta);
+        double maxLat = Math.min(90, lat + latDelta);
+        double sinRatio = Math.sin(radiusKm / EARTH_RADIUS_KM) / Math.cos(Math.toRadians(lat));
+        double lonDelta = minLat <= -90 || maxLat >= 90 || sinRatio >= 1 ? 180 : Math.toDegrees(Math.asin(sinRatio));
+
+        int level = BITS_PER_AXIS;
+        while (level > 0 && (180.0 / (1L << level) < maxLat - minLat || 360.0 / (1L << level) < 2 * lonDelta)) {
+            level--;
+        }
+        level = Math.min(BITS_PER_AXIS, level + REFINEMENT_LEVELS);
+        int shift = BITS_PER_AXIS - level;
+
+        List<long[]> lonIntervals = new ArrayList<>();
+        if (lonDelta >= 180) {
+            lonIntervals.add(new long[]{0, CELLS_PER_AXIS - 1});
+        } else {
+            double west = lon - lonDelta;
+            double east = lon + lonDelta;
+            if (west < -180) {
+                lonIntervals.add(new long[]{lonIndex(west + 360), CELLS_PER_AXIS - 1});
+                west = -180;
+            }
+            if (east > 180) {
+                lonIntervals.add(new long[]{0, lonIndex(east - 360)});
+                east = 180;
+            }
+            lonIntervals.add(new long[]{lonIndex(west), lonIndex(east)});
+        }
+
+        TreeSet<Long> cells = new TreeSet<>();
+        for (long latCell = latIndex(minLat) >> shift; latCell <= latIndex(maxLat) >> shift; latCell++) {
+            for (long[] interval : lonIntervals) {
+                for (long lonCell = interval[0] >> shift; lonCell <= interval[1] >> shift; lonCell++) {
+                    cells.add(interleave(lonCell, latCell));
+                }
+            }
+        }
+
+        List<long[]> ranges = new ArrayList<>();
+        for (long cell : cells) {
+            long from = cell << (2 * shift);
+            long to = ((cell + 1) << (2 * shift)) - 1;
+            if (!ranges.isEmpty() && ranges.getLast()[1] + 1 == from) {
+                ranges.getLast()[1] = to;
+            } else {
+                ranges.add(new long[]{from, to});
+            }
+        }
+        return ranges;
+    }
+
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double latSin = Math.sin(Math.toRadians(lat2 - lat1) / 2);
+        double lonSin = Math.sin(Math.toRadians(lon2 - lon1) / 2);
+        double a = latSin * latSin + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * lonSin * lonSin;
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private static long latIndex(double lat) {
+        return Math.min(CELLS_PER_AXIS - 1, Math.max(0, (long) Math.floor((lat + 90) / 180 * CELLS_PER_AXIS)));
+    }
+
+    private static long lonIndex(double lon) {
+        return Math.min(CELLS_PER_AXIS - 1, Math.max(0, (long) Math.floor((lon + 180) / 360 * CELLS_PER_AXIS)));
+    }
+
+    private static long interleave(long lonCell, long latCell) {
+        long code = 0;
+        for (int bit = 0; bit < BITS_PER_AXIS; bit++) {
+            code |= ((lonCell >> bit) & 1) << (2 * bit + 1);
+            code |= ((latCell >> bit) & 1) << (2 * bit);
+        }
+        return code;
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.event.geo;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@Slf4j
+public class GeoHashBackfill {
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public GeoHashBackfill(JdbcTemplate jdbcTemplate,
+                           @Value("${location.geohash.backfill-batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        long total = 0;
+        while (true) {
+            List<Object[]> rows = jdbcTemplate.query(
+                    "select id, lat, lon from location where geohash is null order by id limit ?",
+                    (rs, rowNum) -> new Object[]{GeoHash.encode(rs.getDouble("lat"), rs.getDouble("lon")),
+                            rs.getLong("id")},
+                    batchSize);
+            if (rows.isEmpty()) {
+                break;
+            }
+            jdbcTemplate.batchUpdate("update location set geohash = ? where id = ?", rows);
+            total += rows.size();
+        }
+        if (total > 0) {
+            log.info("Геохеш заполнен для локаций: {}", total);
+        }
+    }
+}
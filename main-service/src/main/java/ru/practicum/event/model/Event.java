@@ -70,6 +70,10 @@ public class Event {
     @Column
     Boolean requestModeration;
 
+    @NotNull
+    @Column(name = "flash_registration")
+    Boolean flashRegistration = false;
+
     @NotNull
     @Column
     @Enumerated(value = EnumType.STRING)
@@ -79,13 +83,17 @@ public class Event {
     @Column
     String title;
 
-    @Column(name = "confirmed_requests")
+    @Column(name = "confirmed_requests", updatable = false)
     Long confirmedRequests;
 
     @NotNull
-    @Column
+    @Column(updatable = false)
     Long rating;
 
-    @Transient
+    @NotNull
+    @Column
     Long views;
+
+    @Transient
+    Boolean viewsStale;
 }
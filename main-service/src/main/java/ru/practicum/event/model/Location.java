@@ -1,8 +1,10 @@
 package ru.practicum.event.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
+import ru.practicum.event.geo.GeoHash;
 
 @Entity
 @Table(name = "location")
@@ -22,4 +24,20 @@ public class Location {
     @NotNull
     @Column
     Float lon;
+
+    @JsonIgnore
+    @Column
+    Long geohash;
+
+    public Location(Long id, Float lat, Float lon) {
+        this.id = id;
+        this.lat = lat;
+        this.lon = lon;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void updateGeohash() {
+        geohash = GeoHash.encode(lat, lon);
+    }
 }
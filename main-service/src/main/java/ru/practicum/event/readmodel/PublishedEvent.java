@@ -0,0 +1,36 @@
+package ru.practicum.event.readmodel;
+
+import ru.practicum.event.model.Event;
+
+import java.time.LocalDateTime;
+
+public record PublishedEvent(long id,
+                             String annotation,
+                             long categoryId,
+                             String categoryName,
+                             long confirmedRequests,
+                             LocalDateTime eventDate,
+                             long initiatorId,
+                             String initiatorName,
+                             boolean paid,
+                             long participantLimit,
+                             String title,
+                             long rating,
+                             long views) {
+
+    public static PublishedEvent from(Event event) {
+        return new PublishedEvent(event.getId(),
+                event.getAnnotation(),
+                event.getCategory().getId(),
+                event.getCategory().getName(),
+                event.getConfirmedRequests(),
+                event.getEventDate(),
+                event.getInitiator().getId(),
+                event.getInitiator().getName(),
+                event.getPaid(),
+                event.getParticipantLimit(),
+                event.getTitle(),
+                event.getRating(),
+                event.getViews());
+    }
+}
@@ -0,0 +1,11 @@
+package ru.practicum.event.readmodel;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record PublishedEventFilter(List<Long> categories,
+                                   Boolean paid,
+                                   LocalDateTime rangeStart,
+                                   LocalDateTime rangeEnd,
+                                   boolean onlyAvailable) {
+}
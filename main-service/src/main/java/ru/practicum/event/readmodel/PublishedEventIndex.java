@@ -0,0 +1,357 @@
+package ru.practicum.event.readmodel;
+
+import org.springframework.util.CollectionUtils;
+import ru.practicum.event.cursor.EventCursor;
+import ru.practicum.event.enums.EventKeyset;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public class PublishedEventIndex {
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long MAX_SECONDS = Long.MAX_VALUE / NANOS_PER_SECOND - 1;
+    private static final long MIN_SECONDS = Long.MIN_VALUE / NANOS_PER_SECOND + 1;
+
+    private final Map<Long, Integer> slotById = new HashMap<>();
+    private final Map<Long, BitSet> byCategory = new HashMap<>();
+    private final BitSet occupied = new BitSet();
+    private final BitSet paid = new BitSet();
+    private final BitSet available = new BitSet();
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private long[] eventDates = new long[INITIAL_CAPACITY];
+    private long[] categoryIds = new long[INITIAL_CAPACITY];
+    private long[] initiatorIds = new long[INITIAL_CAPACITY];
+    private long[] participantLimits = new long[INITIAL_CAPACITY];
+    private long[] confirmedRequests = new long[INITIAL_CAPACITY];
+    private long[] ratings = new long[INITIAL_CAPACITY];
+    private long[] views = new long[INITIAL_CAPACITY];
+    private String[] annotations = new String[INITIAL_CAPACITY];
+    private String[] titles = new String[INITIAL_CAPACITY];
+    private String[] categoryNames = new String[INITIAL_CAPACITY];
+    private String[] initiatorNames = new String[INITIAL_CAPACITY];
+    private int[] dateOrder = new int[INITIAL_CAPACITY];
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    public void put(PublishedEvent event) {
+        Integer existing = slotById.get(event.id());
+        int slot;
+        if (existing != null) {
+            slot = existing;
+            unlink(slot);
+        } else {
+            slot = occupied.nextClearBit(0);
+            ensureCapacity(slot + 1);
+            slotById.put(event.id(), slot);
+            occupied.set(slot);
+        }
+        ids[slot] = event.id();
+        eventDates[slot] = dateKey(event.eventDate());
+        categoryIds[slot] = event.categoryId();
+        initiatorIds[slot] = event.initiatorId();
+        participantLimits[slot] = event.participantLimit();
+        confirmedRequests[slot] = event.confirmedRequests();
+        ratings[slot] = event.rating();
+        views[slot] = event.views();
+        annotations[slot] = event.annotation();
+        titles[slot] = event.title();
+        categoryNames[slot] = event.categoryName();
+        initiatorNames[slot] = event.initiatorName();
+        paid.set(slot, event.paid());
+        available.set(slot, event.participantLimit() == 0 || event.participantLimit() > event.confirmedRequests());
+        byCategory.computeIfAbsent(event.categoryId(), categoryId -> new BitSet()).set(slot);
+        link(slot);
+    }
+
+    public void remove(long eventId) {
+        Integer slot = slotById.remove(eventId);
+        if (slot == null) {
+            return;
+        }
+        unlink(slot);
+        occupied.clear(slot);
+        paid.clear(slot);
+        available.clear(slot);
+        annotations[slot] = null;
+        titles[slot] = null;
+        categoryNames[slot] = null;
+        initiatorNames[slot] = null;
+    }
+
+    public void updateViews(long eventId, long eventViews) {
+        Integer slot = slotById.get(eventId);
+        if (slot != null) {
+            views[slot] = eventViews;
+        }
+    }
+
+    public void adjustConfirmedRequests(long eventId, long delta) {
+        Integer slot = slotById.get(eventId);
+        if (slot != null) {
+            confirmedRequests[slot] += delta;
+            available.set(slot, participantLimits[slot] == 0 || participantLimits[slot] > confirmedRequests[slot]);
+        }
+    }
+
+    public void adjustRating(long eventId, long delta) {
+        Integer slot = slotById.get(eventId);
+        if (slot != null) {
+            ratings[slot] += delta;
+        }
+    }
+
+    public void renameCategory(long categoryId, String name) {
+        BitSet slots = byCategory.get(categoryId);
+        if (slots == null) {
+            return;
+        }
+        for (int slot = slots.nextSetBit(0); slot >= 0; slot = slots.nextSetBit(slot + 1)) {
+            categoryNames[slot] = name;
+        }
+    }
+
+    public Optional<PublishedEvent> get(long eventId) {
+        Integer slot = slotById.get(eventId);
+        return slot == null ? Optional.empty() : Optional.of(row(slot));
+    }
+
+    public List<PublishedEvent> find(PublishedEventFilter filter, EventKeyset keyset, EventCursor after,
+                                     int offset, int limit) {
+        BitSet matches = match(filter);
+        int from = filter.rangeStart() != null ? firstAfter(dateKey(filter.rangeStart()), Long.MIN_VALUE) : 0;
+        int to = filter.rangeEnd() != null ? firstAfter(dateKey(filter.rangeEnd()), Long.MAX_VALUE) : size;
+        long afterKey = after != null ? cursorKey(after) : 0;
+        List<PublishedEvent> events = new ArrayList<>(Math.min(limit, size));
+
+        if (keyset == EventKeyset.EVENT_DATE) {
+            if (after != null) {
+                from = Math.max(from, firstAfter(afterKey, after.getId()));
+            }
+            int skipped = 0;
+            for (int i = from; i < to && events.size() < limit; i++) {
+                int slot = dateOrder[i];
+                if (matches.get(slot) && skipped++ >= offset) {
+                    events.add(row(slot));
+                }
+            }
+            return events;
+        }
+
+        if (filter.rangeStart() != null || filter.rangeEnd() != null) {
+            BitSet inRange = new BitSet();
+            for (int i = from; i < to; i++) {
+                inRange.set(dateOrder[i]);
+            }
+            matches.and(inRange);
+        }
+        int[] slots = new int[matches.cardinality()];
+        int count = 0;
+        for (int slot = matches.nextSetBit(0); slot >= 0; slot = matches.nextSetBit(slot + 1)) {
+            if (after == null || compare(keyset, slot, afterKey, after.getId()) > 0) {
+                slots[count++] = slot;
+            }
+        }
+        sort(slots, count, keyset);
+        for (int i = offset; i < count && events.size() < limit; i++) {
+            events.add(row(slots[i]));
+        }
+        return events;
+    }
+
+    public int countDifferences(PublishedEventIndex other) {
+        int differences = 0;
+        for (Map.Entry<Long, Integer> entry : slotById.entrySet()) {
+            Optional<PublishedEvent> otherEvent = other.get(entry.getKey());
+            if (otherEvent.isEmpty() || !otherEvent.get().equals(row(entry.getValue()))) {
+                differences++;
+            }
+        }
+        for (Long eventId : other.slotById.keySet()) {
+            if (!slotById.containsKey(eventId)) {
+                differences++;
+            }
+        }
+        return differences;
+    }
+
+    private BitSet match(PublishedEventFilter filter) {
+        BitSet matches;
+        if (!CollectionUtils.isEmpty(filter.categories())) {
+            matches = new BitSet();
+            for (Long categoryId : filter.categories()) {
+                BitSet slots = byCategory.get(categoryId);
+                if (slots != null) {
+                    matches.or(slots);
+                }
+            }
+        } else {
+            matches = (BitSet) occupied.clone();
+        }
+        if (filter.paid() != null) {
+            if (filter.paid()) {
+                matches.and(paid);
+            } else {
+                matches.andNot(paid);
+            }
+        }
+        if (filter.onlyAvailable()) {
+            matches.and(available);
+        }
+        return matches;
+    }
+
+    private PublishedEvent row(int slot) {
+        return new PublishedEvent(ids[slot],
+                annotations[slot],
+                categoryIds[slot],
+                categoryNames[slot],
+                confirmedRequests[slot],
+                toDate(eventDates[slot]),
+                initiatorIds[slot],
+                initiatorNames[slot],
+                paid.get(slot),
+                participantLimits[slot],
+                titles[slot],
+                ratings[slot],
+                views[slot]);
+    }
+
+    private void link(int slot) {
+        int position = firstAfter(eventDates[slot], ids[slot]);
+        System.arraycopy(dateOrder, position, dateOrder, position + 1, size - position);
+        dateOrder[position] = slot;
+        size++;
+    }
+
+    private void unlink(int slot) {
+        int position = firstAfter(eventDates[slot], ids[slot] - 1);
+        System.arraycopy(dateOrder, position + 1, dateOrder, position, size - position - 1);
+        size--;
+        BitSet slots = byCategory.get(categoryIds[slot]);
+        slots.clear(slot);
+        if (slots.isEmpty()) {
+            byCategory.remove(categoryIds[slot]);
+        }
+    }
+
+    private int firstAfter(long dateKey, long eventId) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            int slot = dateOrder[middle];
+            int comparison = Long.compare(eventDates[slot], dateKey);
+            if (comparison < 0 || (comparison == 0 && ids[slot] <= eventId)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private long key(EventKeyset keyset, int slot) {
+        return switch (keyset) {
+            case EVENT_DATE -> eventDates[slot];
+            case VIEWS -> views[slot];
+            case RATING -> ratings[slot];
+            case ID -> 0;
+        };
+    }
+
+    private long cursorKey(EventCursor cursor) {
+        return switch (cursor.getKeyset()) {
+            case EVENT_DATE -> dateKey(LocalDateTime.parse(cursor.getValue()));
+            case VIEWS, RATING -> Long.parseLong(cursor.getValue());
+            case ID -> 0;
+        };
+    }
+
+    private int compare(EventKeyset keyset, int slot, long otherKey, long otherId) {
+        int comparison = Long.compare(key(keyset, slot), otherKey);
+        if (comparison == 0) {
+            comparison = Long.compare(ids[slot], otherId);
+        }
+        return keyset == EventKeyset.RATING ? -comparison : comparison;
+    }
+
+    private void sort(int[] slots, int length, EventKeyset keyset) {
+        int[] source = slots;
+        int[] target = new int[length];
+        for (int width = 1; width < length; width *= 2) {
+            for (int low = 0; low < length; low += 2 * width) {
+                int middle = Math.min(low + width, length);
+                int high = Math.min(low + 2 * width, length);
+                int left = low;
+                int right = middle;
+                int position = low;
+                while (left < middle && right < high) {
+                    if (compare(keyset, source[right], key(keyset, source[left]), ids[source[left]]) < 0) {
+                        target[position++] = source[right++];
+                    } else {
+                        target[position++] = source[left++];
+                    }
+                }
+                while (left < middle) {
+                    target[position++] = source[left++];
+                }
+                while (right < high) {
+                    target[position++] = source[right++];
+                }
+            }
+            int[] merged = target;
+            target = source;
+            source = merged;
+        }
+        if (source != slots) {
+            System.arraycopy(source, 0, slots, 0, length);
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, ids.length * 2);
+        ids = Arrays.copyOf(ids, newCapacity);
+        eventDates = Arrays.copyOf(eventDates, newCapacity);
+        categoryIds = Arrays.copyOf(categoryIds, newCapacity);
+        initiatorIds = Arrays.copyOf(initiatorIds, newCapacity);
+        participantLimits = Arrays.copyOf(participantLimits, newCapacity);
+        confirmedRequests = Arrays.copyOf(confirmedRequests, newCapacity);
+        ratings = Arrays.copyOf(ratings, newCapacity);
+        views = Arrays.copyOf(views, newCapacity);
+        annotations = Arrays.copyOf(annotations, newCapacity);
+        titles = Arrays.copyOf(titles, newCapacity);
+        categoryNames = Arrays.copyOf(categoryNames, newCapacity);
+        initiatorNames = Arrays.copyOf(initiatorNames, newCapacity);
+        dateOrder = Arrays.copyOf(dateOrder, newCapacity);
+    }
+
+    private static long dateKey(LocalDateTime dateTime) {
+        long seconds = dateTime.toEpochSecond(ZoneOffset.UTC);
+        if (seconds > MAX_SECONDS) {
+            return Long.MAX_VALUE;
+        }
+        if (seconds < MIN_SECONDS) {
+            return Long.MIN_VALUE;
+        }
+        return seconds * NANOS_PER_SECOND + dateTime.getNano();
+    }
+
+    private static LocalDateTime toDate(long dateKey) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(dateKey, NANOS_PER_SECOND),
+                (int) Math.floorMod(dateKey, NANOS_PER_SECOND), ZoneOffset.UTC);
+    }
+}
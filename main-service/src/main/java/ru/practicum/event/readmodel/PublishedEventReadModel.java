@@ -0,0 +1,217 @@
+package ru.practicum.event.readmodel;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.event.cursor.EventCursor;
+import ru.practicum.event.dto.EventShortDto;
+import ru.practicum.event.dto.mapper.EventMapper;
+import ru.practicum.event.enums.EventKeyset;
+import ru.practicum.event.model.Event;
+import ru.practicum.event.model.State;
+import ru.practicum.event.repository.EventRepository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+@Service
+@Slf4j
+public class PublishedEventReadModel implements MeterBinder {
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+
+    private final EventRepository eventRepository;
+    private final EventMapper eventMapper;
+    private final boolean enabled;
+    private final int batchSize;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicLong writes = new AtomicLong();
+    private final AtomicLong mismatches = new AtomicLong();
+    private PublishedEventIndex index = new PublishedEventIndex();
+    private volatile boolean loaded;
+
+    public PublishedEventReadModel(EventRepository eventRepository,
+                                   EventMapper eventMapper,
+                                   @Value("${events.read-model.enabled:false}") boolean enabled,
+                                   @Value("${events.read-model.batch-size:500}") int batchSize) {
+        this.eventRepository = eventRepository;
+        this.eventMapper = eventMapper;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        for (int attempt = 1; attempt <= MAX_LOAD_ATTEMPTS; attempt++) {
+            if (rebuild(false)) {
+                log.info("Модель опубликованных событий загружена, событий: {}", getSize());
+                return;
+            }
+        }
+        log.warn("Модель опубликованных событий не загружена: события менялись во время загрузки");
+    }
+
+    @Scheduled(fixedDelayString = "${events.read-model.verify-interval-ms:600000}",
+            initialDelayString = "${events.read-model.verify-interval-ms:600000}")
+    public void verify() {
+        if (!enabled) {
+            return;
+        }
+        if (!rebuild(loaded)) {
+            log.info("Проверка модели опубликованных событий отложена: события менялись во время проверки");
+        }
+    }
+
+    public Optional<List<EventShortDto>> find(PublishedEventFilter filter, EventKeyset keyset, EventCursor after,
+                                              int offset, int limit) {
+        if (!loaded) {
+            return Optional.empty();
+        }
+        List<PublishedEvent> events;
+        lock.readLock().lock();
+        try {
+            events = index.find(filter, keyset, after, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return Optional.of(eventMapper.listPublishedEventToListEventShortDto(events));
+    }
+
+    public void upsert(Event event) {
+        if (!enabled) {
+            return;
+        }
+        if (event.getState() == State.PUBLISHED) {
+            PublishedEvent publishedEvent = PublishedEvent.from(event);
+            afterCommit(publishedEvents -> publishedEvents.put(publishedEvent));
+        } else {
+            long eventId = event.getId();
+            afterCommit(publishedEvents -> publishedEvents.remove(eventId));
+        }
+    }
+
+    public void updateViews(long eventId, long views) {
+        if (enabled) {
+            afterCommit(publishedEvents -> publishedEvents.updateViews(eventId, views));
+        }
+    }
+
+    public void adjustConfirmedRequests(long eventId, long delta) {
+        if (enabled) {
+            afterCommit(publishedEvents -> publishedEvents.adjustConfirmedRequests(eventId, delta));
+        }
+    }
+
+    public void adjustRating(long eventId, long delta) {
+        if (enabled) {
+            afterCommit(publishedEvents -> publishedEvents.adjustRating(eventId, delta));
+        }
+    }
+
+    public void renameCategory(long categoryId, String name) {
+        if (enabled) {
+            afterCommit(publishedEvents -> publishedEvents.renameCategory(categoryId, name));
+        }
+    }
+
+    public int getSize() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getMismatches() {
+        return mismatches.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("events.read-model.size", this, PublishedEventReadModel::getSize)
+                .register(registry);
+        FunctionCounter.builder("events.read-model.mismatches", this, PublishedEventReadModel::getMismatches)
+                .register(registry);
+    }
+
+    private boolean rebuild(boolean verify) {
+        long version = writes.get();
+        PublishedEventIndex fresh = loadIndex();
+        lock.writeLock().lock();
+        try {
+            if (writes.get() != version) {
+                return false;
+            }
+            if (verify) {
+                int differences = index.countDifferences(fresh);
+                if (differences == 0) {
+                    return true;
+                }
+                mismatches.addAndGet(differences);
+                log.warn("Модель опубликованных событий расходится с базой данных в {} событиях и будет перестроена",
+                        differences);
+            }
+            index = fresh;
+            loaded = true;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private PublishedEventIndex loadIndex() {
+        PublishedEventIndex fresh = new PublishedEventIndex();
+        long afterId = 0;
+        while (true) {
+            List<Long> eventIds = eventRepository.findIdsByStateAfter(State.PUBLISHED, afterId, PageRequest.of(0, batchSize));
+            if (eventIds.isEmpty()) {
+                return fresh;
+            }
+            eventRepository.findAllByIdIn(eventIds).stream()
+                    .filter(event -> event.getState() == State.PUBLISHED)
+                    .map(PublishedEvent::from)
+                    .forEach(fresh::put);
+            afterId = eventIds.getLast();
+        }
+    }
+
+    private void afterCommit(Consumer<PublishedEventIndex> change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(change);
+                }
+            });
+        } else {
+            apply(change);
+        }
+    }
+
+    private void apply(Consumer<PublishedEventIndex> change) {
+        lock.writeLock().lock();
+        try {
+            writes.incrementAndGet();
+            change.accept(index);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
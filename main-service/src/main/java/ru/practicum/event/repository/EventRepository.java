@@ -1,20 +1,65 @@
 package ru.practicum.event.repository;
 
+import com.querydsl.core.types.Predicate;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import ru.practicum.event.model.Event;
 import ru.practicum.event.model.State;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface EventRepository extends JpaRepository<Event, Long>, QuerydslPredicateExecutor<Event> {
+public interface EventRepository extends JpaRepository<Event, Long>, QuerydslPredicateExecutor<Event>,
+        EventShortRepository {
+    @Override
+    @EntityGraph(attributePaths = {"category", "initiator", "location"})
+    Page<Event> findAll(Predicate predicate, Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = {"category", "initiator", "location"})
+    Page<Event> findAll(Pageable pageable);
+
+    @EntityGraph(attributePaths = {"category", "initiator", "location"})
     Optional<Event> findByIdAndState(Long id, State state);
 
+    @EntityGraph(attributePaths = {"category", "initiator", "location"})
     List<Event> findAllByIdIn(List<Long> ids);
 
     List<Event> findAllByCategoryId(Long categoryId);
 
     Optional<Event> findByIdAndInitiatorId(Long id, Long initiatorId);
 
+    @Query("select e.id from Event e where e.state = :state and e.id > :afterId order by e.id")
+    List<Long> findIdsByStateAfter(State state, long afterId, Pageable pageable);
+
+    @Query("select e.id from Event e where e.state = :state and e.id in :ids order by e.id")
+    List<Long> findIdsByStateAndIdIn(State state, Collection<Long> ids);
+
+    @Modifying
+    @Query("update Event e set e.confirmedRequests = e.confirmedRequests + 1 " +
+            "where e.id = :eventId and e.state = :state and e.initiator.id <> :userId " +
+            "and (e.participantLimit = 0 or e.requestModeration = false) " +
+            "and (e.participantLimit = 0 or e.confirmedRequests < e.participantLimit) " +
+            "and (e.participantLimit = 0 or e.flashRegistration = false) " +
+            "and exists (select u.id from User u where u.id = :userId) " +
+            "and not exists (select r.id from Request r where r.event.id = :eventId and r.requester.id = :userId)")
+    int confirmParticipant(long eventId, long userId, State state);
+
+    @Modifying
+    @Query("update Event e set e.confirmedRequests = e.confirmedRequests + :delta where e.id = :eventId")
+    int addConfirmedRequests(long eventId, long delta);
+
+    @Modifying
+    @Query("update Event e set e.confirmedRequests = e.confirmedRequests + :count where e.id = :eventId " +
+            "and (e.participantLimit = 0 or e.confirmedRequests + :count <= e.participantLimit)")
+    int reserveParticipants(long eventId, long count);
+
+    @Query("select count(e.id) from Event e where e.rating > :rating or (e.rating = :rating and e.id > :eventId)")
+    long countRankedAbove(long rating, long eventId);
 }
@@ -0,0 +1,14 @@
+package ru.practicum.event.repository;
+
+import com.querydsl.core.types.Predicate;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.event.dto.EventShortDto;
+import ru.practicum.event.geo.GeoArea;
+
+import java.util.List;
+
+public interface EventShortRepository {
+    List<EventShortDto> findShortEvents(Predicate predicate, Pageable pageable);
+
+    List<EventShortDto> findShortEventsWithin(Predicate predicate, GeoArea area, long offset, int limit);
+}
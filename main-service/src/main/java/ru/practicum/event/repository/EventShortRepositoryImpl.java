@@ -0,0 +1,82 @@
+package ru.practicum.event.repository;
+
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.QBean;
+import com.querydsl.core.types.dsl.PathBuilderFactory;
+import com.querydsl.jpa.JPQLQuery;
+import com.querydsl.jpa.JPQLTemplates;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.support.Querydsl;
+import ru.practicum.category.dto.CategoryDto;
+import ru.practicum.event.dto.EventShortDto;
+import ru.practicum.event.geo.GeoArea;
+import ru.practicum.event.model.Event;
+import ru.practicum.user.dto.UserShortDto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static ru.practicum.category.model.QCategory.category;
+import static ru.practicum.event.model.QEvent.event;
+import static ru.practicum.user.model.QUser.user;
+
+public class EventShortRepositoryImpl implements EventShortRepository {
+    private final JPAQueryFactory queryFactory;
+    private final Querydsl querydsl;
+
+    public EventShortRepositoryImpl(EntityManager entityManager) {
+        this.queryFactory = new JPAQueryFactory(JPQLTemplates.DEFAULT, entityManager);
+        this.querydsl = new Querydsl(entityManager, new PathBuilderFactory().create(Event.class));
+    }
+
+    @Override
+    public List<EventShortDto> findShortEvents(Predicate predicate, Pageable pageable) {
+        JPQLQuery<EventShortDto> query = queryFactory
+                .select(shortEvent())
+                .from(event)
+                .join(event.category, category)
+                .join(event.initiator, user)
+                .where(predicate);
+        return querydsl.applyPagination(pageable, query).fetch();
+    }
+
+    @Override
+    public List<EventShortDto> findShortEventsWithin(Predicate predicate, GeoArea area, long offset, int limit) {
+        List<Tuple> rows = queryFactory
+                .select(shortEvent(), event.location.lat, event.location.lon)
+                .from(event)
+                .join(event.category, category)
+                .join(event.initiator, user)
+                .where(new BooleanBuilder(predicate).and(area.within()))
+                .orderBy(area.haversine().asc(), event.id.asc())
+                .offset(offset)
+                .limit(limit)
+                .fetch();
+        List<EventShortDto> events = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            EventShortDto eventShortDto = row.get(0, EventShortDto.class);
+            eventShortDto.setDistance(area.distanceTo(row.get(event.location.lat), row.get(event.location.lon)));
+            events.add(eventShortDto);
+        }
+        return events;
+    }
+
+    private QBean<EventShortDto> shortEvent() {
+        return Projections.bean(EventShortDto.class,
+                event.id,
+                event.annotation,
+                Projections.constructor(CategoryDto.class, category.id, category.name).as("category"),
+                event.confirmedRequests,
+                event.eventDate,
+                Projections.constructor(UserShortDto.class, user.id, user.name).as("initiator"),
+                event.paid,
+                event.title,
+                event.rating,
+                event.views);
+    }
+}
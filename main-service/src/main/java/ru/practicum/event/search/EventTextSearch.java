@@ -0,0 +1,51 @@
+package ru.practicum.event.search;
+
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.Expressions;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+import static ru.practicum.event.model.QEvent.event;
+
+@Component
+@Slf4j
+public class EventTextSearch {
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean fullText;
+
+    public EventTextSearch(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public BooleanExpression matches(String text) {
+        if (isFullText()) {
+            return Expressions.booleanTemplate("function('fts_match', {0}, {1}) = true", event.id, text);
+        }
+        return event.annotation.containsIgnoreCase(text.toLowerCase())
+                .or(event.description.containsIgnoreCase(text.toLowerCase()));
+    }
+
+    public Optional<OrderSpecifier<Double>> rank(String text) {
+        if (!isFullText()) {
+            return Optional.empty();
+        }
+        return Optional.of(Expressions.numberTemplate(Double.class, "function('fts_rank', {0}, {1})",
+                event.id, text).desc());
+    }
+
+    private boolean isFullText() {
+        if (fullText == null) {
+            Integer columns = jdbcTemplate.queryForObject(
+                    "select count(*) from information_schema.columns " +
+                            "where table_name = 'events' and column_name = 'search_vector' and data_type = 'tsvector'",
+                    Integer.class);
+            fullText = columns != null && columns > 0;
+            log.info("Поиск событий по тексту: {}", fullText ? "полнотекстовый индекс" : "поиск по подстроке");
+        }
+        return fullText;
+    }
+}
@@ -2,7 +2,9 @@ package ru.practicum.event.service;
 
 import ru.practicum.event.dto.*;
 import ru.practicum.event.enums.EventPublicSort;
+import ru.practicum.event.geo.GeoArea;
 import ru.practicum.event.model.State;
+import ru.practicum.like.dto.RatingRankDto;
 import ru.practicum.requests.dto.EventRequestStatusUpdateRequestDto;
 import ru.practicum.requests.dto.EventRequestStatusUpdateResultDto;
 import ru.practicum.requests.dto.ParticipationRequestDto;
@@ -29,10 +31,24 @@ public interface EventService {
                                            LocalDateTime rangeStart, LocalDateTime rangeEnd,
                                            boolean onlyAvailable, EventPublicSort sort, int from, int size);
 
+    CursorPage<EventShortDto> getPublicEventsPage(String text, List<Long> categories, Boolean paid,
+                                                  LocalDateTime rangeStart, LocalDateTime rangeEnd,
+                                                  boolean onlyAvailable, EventPublicSort sort, String cursor, int size);
+
+    List<EventShortDto> getPublicEventsNear(String text, List<Long> categories, Boolean paid,
+                                            LocalDateTime rangeStart, LocalDateTime rangeEnd,
+                                            boolean onlyAvailable, GeoArea area, int from, int size);
+
     EventFullDto getPublicEventById(long id);
 
     List<EventFullDto> getAllAdminEvents(List<Long> users, State state, List<Long> categories, LocalDateTime rangeStart,
                                          LocalDateTime rangeEnd, int from, int size, boolean sortRating);
 
+    CursorPage<EventFullDto> getAdminEventsPage(List<Long> users, State state, List<Long> categories,
+                                                LocalDateTime rangeStart, LocalDateTime rangeEnd, String cursor,
+                                                int size, boolean sortRating);
+
     EventFullDto updateEventAdmin(UpdateEventAdminRequest updateEventAdminRequest, long eventId);
+
+    RatingRankDto getEventRatingRank(long eventId);
 }
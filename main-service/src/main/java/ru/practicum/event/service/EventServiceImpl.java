@@ -1,44 +1,62 @@
 package ru.practicum.event.service;
 
 import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.querydsl.QPageRequest;
+import org.springframework.data.querydsl.QSort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
-import ru.practicum.StatClient;
-import ru.practicum.StatsViewDto;
 import ru.practicum.category.model.Category;
 import ru.practicum.category.repository.CategoryRepository;
 import ru.practicum.errorHandler.DataTimeException;
 import ru.practicum.errorHandler.NotFoundException;
 import ru.practicum.errorHandler.RestrictionsViolationException;
+import ru.practicum.event.cursor.EventCursor;
 import ru.practicum.event.dto.*;
 import ru.practicum.event.dto.mapper.EventMapper;
+import ru.practicum.event.enums.EventKeyset;
 import ru.practicum.event.enums.EventPublicSort;
 import ru.practicum.event.enums.StateActionAdmin;
+import ru.practicum.event.geo.GeoArea;
 import ru.practicum.event.model.Event;
 import ru.practicum.event.model.State;
+import ru.practicum.event.readmodel.PublishedEventFilter;
+import ru.practicum.event.readmodel.PublishedEventReadModel;
 import ru.practicum.event.repository.EventRepository;
+import ru.practicum.event.search.EventTextSearch;
+import ru.practicum.like.dto.RatingRankDto;
+import ru.practicum.like.rating.RatingAccumulator;
+import ru.practicum.like.rating.RatingLeaderboard;
+import ru.practicum.like.rating.RatingLeaderboards;
 import ru.practicum.requests.dto.EventRequestStatusUpdateRequestDto;
 import ru.practicum.requests.dto.EventRequestStatusUpdateResultDto;
 import ru.practicum.requests.dto.ParticipationRequestDto;
 import ru.practicum.requests.dto.mapper.RequestMapper;
+import ru.practicum.requests.flash.FlashRegistrationService;
+import ru.practicum.requests.model.EventRequestsState;
 import ru.practicum.requests.model.Request;
 import ru.practicum.requests.model.Status;
 import ru.practicum.requests.repository.RequestsRepository;
 import ru.practicum.user.model.User;
 import ru.practicum.user.repository.UserRepository;
+import ru.practicum.view.model.CachedViews;
+import ru.practicum.view.service.ViewCache;
 
 import java.time.LocalDateTime;
-import java.util.Collections;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static ru.practicum.event.model.QEvent.event;
@@ -51,7 +69,12 @@ public class EventServiceImpl implements EventService {
     private final UserRepository userRepository;
     private final CategoryRepository categoryRepository;
     private final RequestsRepository requestsRepository;
-    private final StatClient statClient;
+    private final ViewCache viewCache;
+    private final EventTextSearch eventTextSearch;
+    private final PublishedEventReadModel publishedEventReadModel;
+    private final FlashRegistrationService flashRegistrationService;
+    private final RatingAccumulator ratingAccumulator;
+    private final RatingLeaderboards ratingLeaderboards;
     private final EventMapper eventMapper;
     private final RequestMapper requestMapper;
 
@@ -86,8 +109,10 @@ public class EventServiceImpl implements EventService {
         newEvent.setState(State.PENDING);
         newEvent.setConfirmedRequests(0L);
         newEvent.setRating(0L);
+        newEvent.setViews(0L);
 
         Event event = eventRepository.save(newEvent);
+        ratingLeaderboards.addEvent(event.getId());
         EventFullDto eventFullDto = eventMapper.eventToEventFullDto(event);
         eventFullDto.setViews(0L);
 
@@ -107,16 +132,10 @@ public class EventServiceImpl implements EventService {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new NotFoundException(String.format("Событие с id=%d не существует", eventId)));
 
-        List<StatsViewDto> viewStats = getViewStats(List.of(event));
+        setCounters(List.of(event));
 
         EventFullDto eventFullDto = eventMapper.eventToEventFullDto(event);
 
-        if (!CollectionUtils.isEmpty(viewStats)) {
-            eventFullDto.setViews(viewStats.getFirst().getHits());
-        } else {
-            eventFullDto.setViews(0L);
-        }
-
         log.info("Конец процесса поиска события");
         return eventFullDto;
     }
@@ -134,7 +153,7 @@ public class EventServiceImpl implements EventService {
         BooleanExpression byUserId = event.initiator.id.eq(userId);
         Page<Event> pageEvents = eventRepository.findAll(byUserId, pageRequest);
         List<Event> events = pageEvents.getContent();
-        setViews(events);
+        setCounters(events);
 
         List<EventShortDto> eventsShortDto = eventMapper.listEventToListEventShortDto(events);
 
@@ -201,75 +220,72 @@ public class EventServiceImpl implements EventService {
             throw new NotFoundException(String.format("Пользователь с id=%d не существует", userId));
         }
 
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new NotFoundException(String.format("Событие с id=%d не существует", eventId)));
-        List<Request> confirmedRequests = requestsRepository.findAllByStatusAndEventId(Status.CONFIRMED, eventId);
-
-        if (event.getParticipantLimit() != 0 && event.getParticipantLimit() == confirmedRequests.size()) {
-            throw new RestrictionsViolationException(String.format("Был достигнут лимит заявок на участие в мероприятии в %d шт.", (event.getParticipantLimit() - event.getConfirmedRequests())));
+        Set<Long> requestIds = updateRequests.getRequestIds();
+        if (requestIds.isEmpty()) {
+            return requestMapper.toEventRequestStatusResult(List.of());
         }
 
-        List<Request> requests = requestsRepository.findByIdIn(updateRequests.getRequestIds());
-
-        if (requests.stream().map(Request::getStatus).anyMatch(status -> !status.equals(Status.PENDING))) {
+        EventRequestsState state = requestsRepository.findEventRequestsState(eventId, requestIds, Status.PENDING)
+                .orElseThrow(() -> new NotFoundException(String.format("Событие с id=%d не существует", eventId)));
+        if (state.matchingRequests() != requestIds.size()) {
             throw new RestrictionsViolationException("Статус можно менять только для заявок в статусе на рассмотрении");
         }
 
-        requests.forEach(request -> request.setStatus(updateRequests.getStatus()));
-
         if (updateRequests.getStatus().equals(Status.CONFIRMED)) {
-            event.setConfirmedRequests(event.getConfirmedRequests() + updateRequests.getRequestIds().size());
+            confirmRequests(eventId, requestIds, state);
+        } else {
+            changeRequestStatus(eventId, requestIds, updateRequests.getStatus());
         }
 
+        List<ParticipationRequestDto> requests = requestsRepository.findParticipationRequests(requestIds);
         log.info("Конец процесса обновления запроса");
-        return requestMapper.toEventRequestStatusResult(null, requests);
+        return requestMapper.toEventRequestStatusResult(requests);
     }
 
-    @Override
-    @Transactional(readOnly = true)
-    public List<EventShortDto> getAllPublicEvents(String text, List<Long> categories, Boolean paid,
-                                                  LocalDateTime rangeStart, LocalDateTime rangeEnd,
-                                                  boolean onlyAvailable, EventPublicSort sort, int from, int size) {
-        log.info("Начало процесса получения всех событий");
-
-        if ((rangeStart != null) && (rangeEnd != null) && (rangeStart.isAfter(rangeEnd))) {
-            throw new DataTimeException("Время начала позже времени конца события");
+    private void confirmRequests(long eventId, Set<Long> requestIds, EventRequestsState state) {
+        long participantLimit = state.participantLimit();
+        long freeSeats = participantLimit == 0 ? requestIds.size() : participantLimit - state.confirmedRequests();
+        if (freeSeats <= 0) {
+            throw new RestrictionsViolationException(String.format("Был достигнут лимит заявок на участие в мероприятии в %d шт.", participantLimit));
         }
-        Page<Event> events;
-        PageRequest pageRequest = getCustomPage(from, size, sort);
-        BooleanBuilder builder = new BooleanBuilder();
 
-        if (text != null) {
-            builder.and(event.annotation.containsIgnoreCase(text.toLowerCase())
-                    .or(event.description.containsIgnoreCase(text.toLowerCase())));
+        List<Long> confirmedIds = requestIds.stream()
+                .sorted()
+                .limit(freeSeats)
+                .toList();
+        if (eventRepository.reserveParticipants(eventId, confirmedIds.size()) == 0) {
+            throw new RestrictionsViolationException(String.format("Был достигнут лимит заявок на участие в мероприятии в %d шт.", participantLimit));
         }
+        changeRequestStatus(eventId, confirmedIds, Status.CONFIRMED);
+        publishedEventReadModel.adjustConfirmedRequests(eventId, confirmedIds.size());
 
-        if (!CollectionUtils.isEmpty(categories)) {
-            builder.and(event.category.id.in(categories));
+        if (participantLimit != 0) {
+            int rejected = requestsRepository.updateStatusWhenLimitReached(eventId, Status.PENDING, Status.REJECTED);
+            log.info("Лимит заявок события id={} исчерпан, отклонено заявок: {}", eventId, rejected);
         }
+    }
 
-        if (rangeStart != null && rangeEnd != null) {
-            builder.and(event.eventDate.between(rangeStart, rangeEnd));
-        } else if (rangeStart == null && rangeEnd != null) {
-            builder.and(event.eventDate.between(LocalDateTime.MIN, rangeEnd));
-        } else if (rangeStart != null) {
-            builder.and(event.eventDate.between(rangeStart, LocalDateTime.MAX));
+    private void changeRequestStatus(long eventId, Collection<Long> requestIds, Status status) {
+        if (requestsRepository.updateStatus(eventId, requestIds, Status.PENDING, status) != requestIds.size()) {
+            throw new RestrictionsViolationException("Статус можно менять только для заявок в статусе на рассмотрении");
         }
+    }
 
-        if (onlyAvailable) {
-            builder.and(event.participantLimit.eq(0L))
-                    .or(event.participantLimit.gt(event.confirmedRequests));
-        }
+    @Override
+    @Transactional(readOnly = true)
+    public List<EventShortDto> getAllPublicEvents(String text, List<Long> categories, Boolean paid,
+                                                  LocalDateTime rangeStart, LocalDateTime rangeEnd,
+                                                  boolean onlyAvailable, EventPublicSort sort, int from, int size) {
+        log.info("Начало процесса получения всех событий");
 
-        if (builder.getValue() != null) {
-            events = eventRepository.findAll(builder.getValue(), pageRequest);
-        } else {
-            events = eventRepository.findAll(pageRequest);
-        }
+        BooleanBuilder builder = getPublicFilter(text, categories, paid, rangeStart, rangeEnd, onlyAvailable);
+        List<EventShortDto> events = findPublished(text, categories, paid, rangeStart, rangeEnd, onlyAvailable,
+                getKeyset(sort), null, from * size, size)
+                .orElseGet(() -> eventRepository.findShortEvents(builder.getValue(), getPublicPage(text, sort, from, size)));
 
-        setViews(events.getContent());
+        setShortCounters(events);
         log.info("Конец процесса получения всех событий");
-        return eventMapper.listEventToListEventShortDto(events.getContent());
+        return events;
     }
 
     @Override
@@ -278,7 +294,7 @@ public class EventServiceImpl implements EventService {
         log.info("Начало процесса получения события");
         Event event = eventRepository.findByIdAndState(id, State.PUBLISHED)
                 .orElseThrow(() -> new NotFoundException(String.format("Событие с id=%d не существует", id)));
-        setViews(List.of(event));
+        setCounters(List.of(event));
         log.info("Конец процесса получения события");
         return eventMapper.eventToEventFullDto(event);
     }
@@ -288,6 +304,16 @@ public class EventServiceImpl implements EventService {
     public List<EventFullDto> getAllAdminEvents(List<Long> users, State state, List<Long> categories,
                                                 LocalDateTime rangeStart, LocalDateTime rangeEnd, int from, int size, boolean sortRating) {
         log.info("Начало процесса получения события админом");
+        BooleanBuilder builder = getAdminFilter(users, state, categories, rangeStart, rangeEnd);
+        if (sortRating && builder.getValue() == null) {
+            Optional<List<Event>> topEvents = findTopEvents((long) from * size, size);
+            if (topEvents.isPresent()) {
+                setCounters(topEvents.get());
+                log.info("Конец процесса получения события админом из таблицы рейтинга");
+                return eventMapper.listEventToListEventFullDto(topEvents.get());
+            }
+        }
+
         Page<Event> pageEvents;
         PageRequest pageRequest;
 
@@ -297,31 +323,6 @@ public class EventServiceImpl implements EventService {
             pageRequest = getCustomPage(from, size, null);
         }
 
-        BooleanBuilder builder = new BooleanBuilder();
-
-        if (!CollectionUtils.isEmpty(users) && !users.contains(0L)) {
-            builder.and(event.initiator.id.in(users));
-        }
-
-        if (state != null) {
-            builder.and(event.state.eq(state));
-        }
-
-        if (!CollectionUtils.isEmpty(categories) && !categories.contains(0L)) {
-            builder.and(event.category.id.in(categories));
-        }
-
-        if (rangeStart != null && rangeEnd != null) {
-            if (rangeStart.isAfter(rangeEnd)) {
-                throw new DataTimeException("Время начала позже времени конца события");
-            }
-            builder.and(event.eventDate.between(rangeStart, rangeEnd));
-        } else if (rangeStart == null && rangeEnd != null) {
-            builder.and(event.eventDate.between(LocalDateTime.MIN, rangeEnd));
-        } else if (rangeStart != null) {
-            builder.and(event.eventDate.between(rangeStart, LocalDateTime.MAX));
-        }
-
         if (builder.getValue() != null) {
             pageEvents = eventRepository.findAll(builder.getValue(), pageRequest);
         } else {
@@ -329,11 +330,91 @@ public class EventServiceImpl implements EventService {
         }
 
         List<Event> events = pageEvents.getContent();
-        setViews(events);
+        setCounters(events);
         log.info("Конец процесса получения события админом");
         return eventMapper.listEventToListEventFullDto(events);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<EventShortDto> getPublicEventsPage(String text, List<Long> categories, Boolean paid,
+                                                         LocalDateTime rangeStart, LocalDateTime rangeEnd,
+                                                         boolean onlyAvailable, EventPublicSort sort, String cursor,
+                                                         int size) {
+        log.info("Начало процесса получения событий по курсору");
+        BooleanBuilder builder = getPublicFilter(text, categories, paid, rangeStart, rangeEnd, onlyAvailable);
+        EventKeyset keyset = getKeyset(sort);
+        EventCursor after = cursor != null ? EventCursor.decode(cursor, keyset) : null;
+        if (after != null) {
+            builder.and(after.predicate());
+        }
+        List<EventShortDto> events = findPublished(text, categories, paid, rangeStart, rangeEnd, onlyAvailable,
+                keyset, after, 0, size + 1)
+                .orElseGet(() -> eventRepository.findShortEvents(builder.getValue(),
+                        PageRequest.of(0, size + 1, EventCursor.sort(keyset))));
+        String nextCursor = null;
+        if (events.size() > size) {
+            events = events.subList(0, size);
+            nextCursor = EventCursor.after(keyset, events.getLast()).encode();
+        }
+
+        setShortCounters(events);
+        log.info("Конец процесса получения событий по курсору");
+        return new CursorPage<>(events, nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EventShortDto> getPublicEventsNear(String text, List<Long> categories, Boolean paid,
+                                                   LocalDateTime rangeStart, LocalDateTime rangeEnd,
+                                                   boolean onlyAvailable, GeoArea area, int from, int size) {
+        log.info("Начало процесса получения событий в радиусе {} км от точки ({}, {})",
+                area.radiusKm(), area.lat(), area.lon());
+        BooleanBuilder builder = getPublicFilter(text, categories, paid, rangeStart, rangeEnd, onlyAvailable);
+        List<EventShortDto> events = eventRepository.findShortEventsWithin(builder.getValue(), area,
+                (long) from * size, size);
+
+        setShortCounters(events);
+        log.info("Конец процесса получения событий в радиусе");
+        return events;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<EventFullDto> getAdminEventsPage(List<Long> users, State state, List<Long> categories,
+                                                       LocalDateTime rangeStart, LocalDateTime rangeEnd, String cursor,
+                                                       int size, boolean sortRating) {
+        log.info("Начало процесса получения событий админом по курсору");
+        BooleanBuilder builder = getAdminFilter(users, state, categories, rangeStart, rangeEnd);
+        Optional<List<Event>> topEvents = sortRating && cursor == null && builder.getValue() == null
+                ? findTopEvents(0, size + 1) : Optional.empty();
+        CursorPage<Event> events;
+        if (topEvents.isPresent()) {
+            List<Event> content = topEvents.get().subList(0, size);
+            events = new CursorPage<>(content, EventCursor.after(EventKeyset.RATING, content.getLast()).encode());
+        } else {
+            events = findSlice(builder, sortRating ? EventKeyset.RATING : EventKeyset.ID, cursor, size);
+        }
+
+        setCounters(events.getContent());
+        log.info("Конец процесса получения событий админом по курсору");
+        return new CursorPage<>(eventMapper.listEventToListEventFullDto(events.getContent()), events.getNextCursor());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RatingRankDto getEventRatingRank(long eventId) {
+        Optional<RatingLeaderboard.Entry> entry = ratingLeaderboards.getEvent(eventId);
+        if (entry.isPresent()) {
+            return new RatingRankDto(eventId, ratingAccumulator.getEventRating(eventId, entry.get().rating()),
+                    ratingLeaderboards.getEventRank(eventId).orElseThrow());
+        }
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new NotFoundException(String.format("Событие с id=%d не существует", eventId)));
+        return new RatingRankDto(eventId, ratingAccumulator.getEventRating(eventId, event.getRating()),
+                eventRepository.countRankedAbove(event.getRating(), eventId) + 1);
+    }
+
     @Transactional
     @Override
     public EventFullDto updateEventAdmin(UpdateEventAdminRequest updateEvent, long eventId) {
@@ -344,9 +425,18 @@ public class EventServiceImpl implements EventService {
 
         updateEvent(event, updateEvent);
 
+        if (updateEvent.getFlashRegistration() != null) {
+            event.setFlashRegistration(updateEvent.getFlashRegistration());
+        }
+        if (event.getFlashRegistration() && (event.getParticipantLimit() == 0 || event.getRequestModeration())) {
+            throw new RestrictionsViolationException("Быстрая регистрация доступна только для событий с лимитом участников и без модерации заявок");
+        }
+
         if (updateEvent.getStateAction() != null) {
             setStateByAdmin(event, updateEvent.getStateAction());
         }
+        publishedEventReadModel.upsert(event);
+        flashRegistrationService.refresh(event);
 
         log.info("Конец процесса обновления события админом");
         return eventMapper.eventToEventFullDto(event);
@@ -373,38 +463,169 @@ public class EventServiceImpl implements EventService {
 
     }
 
+    private BooleanBuilder getPublicFilter(String text, List<Long> categories, Boolean paid, LocalDateTime rangeStart,
+                                           LocalDateTime rangeEnd, boolean onlyAvailable) {
+        if ((rangeStart != null) && (rangeEnd != null) && (rangeStart.isAfter(rangeEnd))) {
+            throw new DataTimeException("Время начала позже времени конца события");
+        }
+        BooleanBuilder builder = new BooleanBuilder(event.state.eq(State.PUBLISHED));
+
+        if (text != null) {
+            builder.and(eventTextSearch.matches(text));
+        }
+
+        if (!CollectionUtils.isEmpty(categories)) {
+            builder.and(event.category.id.in(categories));
+        }
+
+        if (paid != null) {
+            builder.and(event.paid.eq(paid));
+        }
+
+        if (rangeStart != null && rangeEnd != null) {
+            builder.and(event.eventDate.between(rangeStart, rangeEnd));
+        } else if (rangeStart == null && rangeEnd != null) {
+            builder.and(event.eventDate.between(LocalDateTime.MIN, rangeEnd));
+        } else if (rangeStart != null) {
+            builder.and(event.eventDate.between(rangeStart, LocalDateTime.MAX));
+        }
+
+        if (onlyAvailable) {
+            builder.and(event.participantLimit.eq(0L)
+                    .or(event.participantLimit.gt(event.confirmedRequests)));
+        }
+        return builder;
+    }
+
+    private BooleanBuilder getAdminFilter(List<Long> users, State state, List<Long> categories,
+                                          LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+        BooleanBuilder builder = new BooleanBuilder();
+
+        if (!CollectionUtils.isEmpty(users) && !users.contains(0L)) {
+            builder.and(event.initiator.id.in(users));
+        }
+
+        if (state != null) {
+            builder.and(event.state.eq(state));
+        }
+
+        if (!CollectionUtils.isEmpty(categories) && !categories.contains(0L)) {
+            builder.and(event.category.id.in(categories));
+        }
+
+        if (rangeStart != null && rangeEnd != null) {
+            if (rangeStart.isAfter(rangeEnd)) {
+                throw new DataTimeException("Время начала позже времени конца события");
+            }
+            builder.and(event.eventDate.between(rangeStart, rangeEnd));
+        } else if (rangeStart == null && rangeEnd != null) {
+            builder.and(event.eventDate.between(LocalDateTime.MIN, rangeEnd));
+        } else if (rangeStart != null) {
+            builder.and(event.eventDate.between(rangeStart, LocalDateTime.MAX));
+        }
+        return builder;
+    }
+
+    private CursorPage<Event> findSlice(BooleanBuilder builder, EventKeyset keyset, String cursor, int size) {
+        if (cursor != null) {
+            builder.and(EventCursor.decode(cursor, keyset).predicate());
+        }
+        List<Event> events = eventRepository.findBy(builder.getValue() != null ? builder.getValue() : event.id.isNotNull(),
+                query -> query.sortBy(EventCursor.sort(keyset))
+                        .project("category", "initiator", "location")
+                        .limit(size + 1)
+                        .all());
+        if (events.size() <= size) {
+            return new CursorPage<>(events, null);
+        }
+        List<Event> content = events.subList(0, size);
+        return new CursorPage<>(content, EventCursor.after(keyset, content.getLast()).encode());
+    }
+
+    private Optional<List<EventShortDto>> findPublished(String text, List<Long> categories, Boolean paid,
+                                                       LocalDateTime rangeStart, LocalDateTime rangeEnd,
+                                                       boolean onlyAvailable, EventKeyset keyset, EventCursor after,
+                                                       int offset, int limit) {
+        if (text != null) {
+            return Optional.empty();
+        }
+        return publishedEventReadModel.find(new PublishedEventFilter(categories, paid, rangeStart, rangeEnd, onlyAvailable),
+                keyset, after, offset, limit);
+    }
+
+    private Pageable getPublicPage(String text, EventPublicSort sort, int from, int size) {
+        if (text != null && sort == EventPublicSort.RELEVANCE) {
+            Optional<OrderSpecifier<Double>> rank = eventTextSearch.rank(text);
+            if (rank.isPresent()) {
+                return QPageRequest.of(from, size, new QSort(rank.get()));
+            }
+        }
+        return getCustomPage(from, size, sort);
+    }
+
+    private EventKeyset getKeyset(EventPublicSort sort) {
+        return sort != null && sort != EventPublicSort.RELEVANCE ? EventKeyset.valueOf(sort.name()) : EventKeyset.ID;
+    }
+
     private PageRequest getCustomPage(int from, int size, EventPublicSort sort) {
         if (sort != null) {
             return switch (sort) {
-                case EVENT_DATE -> PageRequest.of(from, size, Sort.by(Sort.Direction.ASC, "eventDate"));
-                case VIEWS -> PageRequest.of(from, size, Sort.by(Sort.Direction.ASC, "views"));
-                case RATING -> PageRequest.of(from, size, Sort.by(Sort.Direction.DESC, "rating"));
+                case EVENT_DATE -> PageRequest.of(from, size, Sort.by(Sort.Direction.ASC, "eventDate", "id"));
+                case VIEWS -> PageRequest.of(from, size, Sort.by(Sort.Direction.ASC, "views", "id"));
+                case RATING -> PageRequest.of(from, size, Sort.by(Sort.Direction.DESC, "rating", "id"));
+                case RELEVANCE -> PageRequest.of(from, size, Sort.by(Sort.Direction.ASC, "id"));
             };
         } else {
-            return PageRequest.of(from, size);
+            return PageRequest.of(from, size, Sort.by(Sort.Direction.ASC, "id"));
         }
 
     }
 
-    private List<StatsViewDto> getViewStats(List<Event> events) {
-        List<String> url = events.stream()
-                .map(event -> "/events/" + event.getId())
-                .toList();
-        Optional<List<StatsViewDto>> statsViewDto = Optional.ofNullable(statClient
-                .getStats(LocalDateTime.now().minusYears(20), LocalDateTime.now(), url, true)
-        );
-        return statsViewDto.orElse(Collections.emptyList());
+    private Optional<List<Event>> findTopEvents(long offset, int size) {
+        while (true) {
+            Optional<List<Long>> eventIds = ratingLeaderboards.getTopEvents(offset, size);
+            if (eventIds.isEmpty()) {
+                return Optional.empty();
+            }
+            Map<Long, Event> events = eventRepository.findAllByIdIn(eventIds.get()).stream()
+                    .collect(Collectors.toMap(Event::getId, Function.identity()));
+            List<Long> deleted = eventIds.get().stream().filter(eventId -> !events.containsKey(eventId)).toList();
+            if (deleted.isEmpty()) {
+                return Optional.of(eventIds.get().stream().map(events::get).toList());
+            }
+            ratingLeaderboards.removeEvents(deleted);
+        }
     }
 
-    private void setViews(List<Event> events) {
+    private void setCounters(List<Event> events) {
         if (CollectionUtils.isEmpty(events)) {
             return;
         }
-        Map<String, Long> mapUriAndHits = getViewStats(events).stream()
-                .collect(Collectors.toMap(StatsViewDto::getUri, StatsViewDto::getHits));
+        Map<Long, CachedViews> views = viewCache.getViews(events.stream().map(Event::getId).toList());
 
         for (Event event : events) {
-            event.setViews(mapUriAndHits.getOrDefault("/events/" + event.getId(), 0L));
+            CachedViews eventViews = views.get(event.getId());
+            event.setViews(eventViews.getViews());
+            if (eventViews.isStale()) {
+                event.setViewsStale(true);
+            }
+            event.setRating(ratingAccumulator.getEventRating(event.getId(), event.getRating()));
+        }
+    }
+
+    private void setShortCounters(List<EventShortDto> events) {
+        if (CollectionUtils.isEmpty(events)) {
+            return;
+        }
+        Map<Long, CachedViews> views = viewCache.getViews(events.stream().map(EventShortDto::getId).toList());
+
+        for (EventShortDto event : events) {
+            CachedViews eventViews = views.get(event.getId());
+            event.setViews(eventViews.getViews());
+            if (eventViews.isStale()) {
+                event.setViewsStale(true);
+            }
+            event.setRating(ratingAccumulator.getEventRating(event.getId(), event.getRating()));
         }
     }
 
@@ -0,0 +1,14 @@
+package ru.practicum.like.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RatingRankDto {
+    Long id;
+    Long rating;
+    Long rank;
+}
@@ -0,0 +1,177 @@
+package ru.practicum.like.rating;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.event.readmodel.PublishedEventReadModel;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+@Service
+@Slf4j
+public class RatingAccumulator implements MeterBinder {
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PublishedEventReadModel publishedEventReadModel;
+    private final RatingLeaderboards ratingLeaderboards;
+    private final Map<Long, LongAdder> eventDeltas = new ConcurrentHashMap<>();
+    private final Map<Long, LongAdder> userDeltas = new ConcurrentHashMap<>();
+    private final AtomicLong merges = new AtomicLong();
+    private final AtomicLong failedMerges = new AtomicLong();
+
+    public RatingAccumulator(JdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             PublishedEventReadModel publishedEventReadModel,
+                             RatingLeaderboards ratingLeaderboards) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.publishedEventReadModel = publishedEventReadModel;
+        this.ratingLeaderboards = ratingLeaderboards;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        loadLeaderboards();
+    }
+
+    @Scheduled(fixedDelayString = "${likes.leaderboard.rebuild-interval-ms:600000}",
+            initialDelayString = "${likes.leaderboard.rebuild-interval-ms:600000}")
+    public synchronized void loadLeaderboards() {
+        ratingLeaderboards.rebuild(() -> RatingLeaderboard.of(loadRatings("select id, rating from events")),
+                () -> RatingLeaderboard.of(loadRatings("select id, rating from users")));
+        log.info("Таблицы рейтинга загружены");
+    }
+
+    public void add(long eventId, long initiatorId, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(eventId, initiatorId, delta);
+                }
+            });
+        } else {
+            apply(eventId, initiatorId, delta);
+        }
+    }
+
+    public long getEventRating(long eventId, long rating) {
+        return rating + pending(eventDeltas, eventId);
+    }
+
+    public long getUserRating(long userId, long rating) {
+        return rating + pending(userDeltas, userId);
+    }
+
+    @Scheduled(fixedDelayString = "${likes.rating.merge-interval-ms:1000}",
+            initialDelayString = "${likes.rating.merge-interval-ms:1000}")
+    public synchronized void merge() {
+        List<Object[]> events = snapshot(eventDeltas);
+        List<Object[]> users = snapshot(userDeltas);
+        if (events.isEmpty() && users.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate("update events set rating = rating + ? where id = ?", events);
+                jdbcTemplate.batchUpdate("update users set rating = rating + ? where id = ?", users);
+            });
+        } catch (Exception e) {
+            failedMerges.incrementAndGet();
+            log.error("Перенос изменений рейтинга в базу данных завершился ошибкой, повторим позже.", e);
+            return;
+        }
+        for (Object[] row : events) {
+            long eventId = (Long) row[1];
+            long delta = (Long) row[0];
+            eventDeltas.get(eventId).add(-delta);
+            publishedEventReadModel.adjustRating(eventId, delta);
+            ratingLeaderboards.adjustEvent(eventId, delta);
+        }
+        for (Object[] row : users) {
+            long userId = (Long) row[1];
+            long delta = (Long) row[0];
+            userDeltas.get(userId).add(-delta);
+            ratingLeaderboards.adjustUser(userId, delta);
+        }
+        merges.incrementAndGet();
+        log.debug("Изменения рейтинга перенесены: событий {}, пользователей {}", events.size(), users.size());
+    }
+
+    @PreDestroy
+    public void stop() {
+        merge();
+        log.info("Накопитель рейтинга остановлен");
+    }
+
+    public long getPendingEvents() {
+        return eventDeltas.values().stream().filter(adder -> adder.sum() != 0).count();
+    }
+
+    public long getMerges() {
+        return merges.get();
+    }
+
+    public long getFailedMerges() {
+        return failedMerges.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("likes.rating.pending.events", this, RatingAccumulator::getPendingEvents)
+                .register(registry);
+        FunctionCounter.builder("likes.rating.merges", this, RatingAccumulator::getMerges)
+                .register(registry);
+        FunctionCounter.builder("likes.rating.merges.failed", this, RatingAccumulator::getFailedMerges)
+                .register(registry);
+    }
+
+    private void apply(long eventId, long initiatorId, long delta) {
+        eventDeltas.computeIfAbsent(eventId, id -> new LongAdder()).add(delta);
+        userDeltas.computeIfAbsent(initiatorId, id -> new LongAdder()).add(delta);
+    }
+
+    private Map<Long, Long> loadRatings(String sql) {
+        Map<Long, Long> ratings = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            ratings.put(rs.getLong("id"), rs.getLong("rating"));
+        });
+        return ratings;
+    }
+
+    private long pending(Map<Long, LongAdder> deltas, long id) {
+        LongAdder adder = deltas.get(id);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    private List<Object[]> snapshot(Map<Long, LongAdder> deltas) {
+        List<Object[]> rows = new ArrayList<>();
+        deltas.forEach((id, adder) -> {
+            long delta = adder.sum();
+            if (delta != 0) {
+                rows.add(new Object[]{delta, id});
+            }
+        });
+        return rows;
+    }
+}
@@ -0,0 +1,78 @@
+package ru.practicum.like.rating;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+public class RatingLeaderboard {
+    private static final Comparator<Entry> ORDER = Comparator.comparingLong(Entry::rating)
+            .thenComparingLong(Entry::id)
+            .reversed();
+
+    private final NavigableSet<Entry> ranking = new ConcurrentSkipListSet<>(ORDER);
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    public record Entry(long id, long rating) {
+    }
+
+    public static RatingLeaderboard of(Map<Long, Long> ratings) {
+        RatingLeaderboard leaderboard = new RatingLeaderboard();
+        ratings.forEach((id, rating) -> {
+            Entry entry = new Entry(id, rating);
+            leaderboard.entries.put(id, entry);
+            leaderboard.ranking.add(entry);
+        });
+        return leaderboard;
+    }
+
+    public void add(long id) {
+        entries.computeIfAbsent(id, key -> {
+            Entry entry = new Entry(id, 0);
+            ranking.add(entry);
+            return entry;
+        });
+    }
+
+    public void adjust(long id, long delta) {
+        entries.compute(id, (key, entry) -> {
+            Entry updated = new Entry(id, (entry == null ? 0 : entry.rating()) + delta);
+            if (entry != null) {
+                ranking.remove(entry);
+            }
+            ranking.add(updated);
+            return updated;
+        });
+    }
+
+    public void remove(long id) {
+        entries.computeIfPresent(id, (key, entry) -> {
+            ranking.remove(entry);
+            return null;
+        });
+    }
+
+    public List<Long> page(long offset, int limit) {
+        return ranking.stream()
+                .skip(offset)
+                .limit(limit)
+                .map(Entry::id)
+                .toList();
+    }
+
+    public Optional<Entry> get(long id) {
+        return Optional.ofNullable(entries.get(id));
+    }
+
+    public Optional<Long> rank(long id) {
+        Entry entry = entries.get(id);
+        return entry == null ? Optional.empty() : Optional.of(ranking.headSet(entry).size() + 1L);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,150 @@
+package ru.practicum.like.rating;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+@Service
+public class RatingLeaderboards implements MeterBinder {
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile RatingLeaderboard events = new RatingLeaderboard();
+    private volatile RatingLeaderboard users = new RatingLeaderboard();
+    private volatile Queue<Consumer<RatingLeaderboards>> journal;
+    private volatile boolean loaded;
+
+    public Optional<List<Long>> getTopEvents(long offset, int limit) {
+        return loaded ? full(events.page(offset, limit), limit) : Optional.empty();
+    }
+
+    public Optional<List<Long>> getTopUsers(long offset, int limit) {
+        return loaded ? full(users.page(offset, limit), limit) : Optional.empty();
+    }
+
+    public Optional<RatingLeaderboard.Entry> getEvent(long eventId) {
+        return loaded ? events.get(eventId) : Optional.empty();
+    }
+
+    public Optional<RatingLeaderboard.Entry> getUser(long userId) {
+        return loaded ? users.get(userId) : Optional.empty();
+    }
+
+    public Optional<Long> getEventRank(long eventId) {
+        return loaded ? events.rank(eventId) : Optional.empty();
+    }
+
+    public Optional<Long> getUserRank(long userId) {
+        return loaded ? users.rank(userId) : Optional.empty();
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public void addEvent(long eventId) {
+        afterCommit(leaderboards -> leaderboards.events.add(eventId));
+    }
+
+    public void addUser(long userId) {
+        afterCommit(leaderboards -> leaderboards.users.add(userId));
+    }
+
+    public void removeUser(long userId) {
+        afterCommit(leaderboards -> leaderboards.users.remove(userId));
+    }
+
+    public void removeEvents(List<Long> eventIds) {
+        apply(leaderboards -> eventIds.forEach(leaderboards.events::remove));
+    }
+
+    public void removeUsers(List<Long> userIds) {
+        apply(leaderboards -> userIds.forEach(leaderboards.users::remove));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("likes.leaderboard.events.size", this, leaderboards -> leaderboards.events.size())
+                .register(registry);
+        Gauge.builder("likes.leaderboard.users.size", this, leaderboards -> leaderboards.users.size())
+                .register(registry);
+    }
+
+    void adjustEvent(long eventId, long delta) {
+        apply(leaderboards -> leaderboards.events.adjust(eventId, delta));
+    }
+
+    void adjustUser(long userId, long delta) {
+        apply(leaderboards -> leaderboards.users.adjust(userId, delta));
+    }
+
+    void rebuild(Supplier<RatingLeaderboard> eventRatings, Supplier<RatingLeaderboard> userRatings) {
+        Queue<Consumer<RatingLeaderboards>> changes = new ConcurrentLinkedQueue<>();
+        lock.writeLock().lock();
+        journal = changes;
+        lock.writeLock().unlock();
+
+        RatingLeaderboard freshEvents;
+        RatingLeaderboard freshUsers;
+        try {
+            freshEvents = eventRatings.get();
+            freshUsers = userRatings.get();
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            journal = null;
+            lock.writeLock().unlock();
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            events = freshEvents;
+            users = freshUsers;
+            changes.forEach(change -> change.accept(this));
+            journal = null;
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Optional<List<Long>> full(List<Long> ids, int limit) {
+        return ids.size() == limit ? Optional.of(ids) : Optional.empty();
+    }
+
+    private void apply(Consumer<RatingLeaderboards> change) {
+        lock.readLock().lock();
+        try {
+            change.accept(this);
+            Queue<Consumer<RatingLeaderboards>> changes = journal;
+            if (changes != null) {
+                changes.add(change);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void afterCommit(Consumer<RatingLeaderboards> change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(change);
+                }
+            });
+        } else {
+            apply(change);
+        }
+    }
+}
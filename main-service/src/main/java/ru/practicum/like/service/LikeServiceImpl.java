@@ -10,6 +10,7 @@ import ru.practicum.event.model.Event;
 import ru.practicum.event.repository.EventRepository;
 import ru.practicum.like.model.Like;
 import ru.practicum.like.model.StatusLike;
+import ru.practicum.like.rating.RatingAccumulator;
 import ru.practicum.like.repository.LikeRepository;
 import ru.practicum.requests.model.Status;
 import ru.practicum.requests.repository.RequestsRepository;
@@ -34,6 +35,7 @@ public class LikeServiceImpl implements LikeService {
     private final UserRepository userRepository;
     private final RequestsRepository requestsRepository;
     private final EventMapper eventMapper;
+    private final RatingAccumulator ratingAccumulator;
 
     @Override
     @Transactional
@@ -62,10 +64,10 @@ public class LikeServiceImpl implements LikeService {
         like.setStatus(statusLike);
         like.setCreated(LocalDateTime.now());
         likeRepository.save(like);
-        changeRatingUserAndEvent(event, statusLike, DIFFERENCE_RATING_BY_ADD);
+        long delta = changeRatingUserAndEvent(event, statusLike, DIFFERENCE_RATING_BY_ADD);
 
         log.info("Лай был добавлен {}", statusLike);
-        return eventMapper.eventToEventFullDto(event);
+        return toEventFullDto(event, delta);
     }
 
     @Override
@@ -86,12 +88,11 @@ public class LikeServiceImpl implements LikeService {
             }
             like.setStatus(statusLike);
             like.setCreated(LocalDateTime.now());
-            changeRatingUserAndEvent(event, statusLike, DIFFERENCE_RATING_BY_UPDATE);
+            long delta = changeRatingUserAndEvent(event, statusLike, DIFFERENCE_RATING_BY_UPDATE);
+            return toEventFullDto(event, delta);
         } else {
             throw new NotFoundException("Вы еще не оценивали событие");
         }
-
-        return eventMapper.eventToEventFullDto(event);
     }
 
     @Override
@@ -113,15 +114,15 @@ public class LikeServiceImpl implements LikeService {
         log.info("Реакция была удалена");
     }
 
-    private void changeRatingUserAndEvent(Event event, StatusLike statusLike, int difference) {
-        User initiatorEvent = userRepository.findById(event.getInitiator().getId())
-                .orElseThrow(() -> new NotFoundException(String.format("Пользователь с id=%d не существует", event.getInitiator().getId())));
-        if (statusLike == StatusLike.LIKE) {
-            initiatorEvent.setRating(initiatorEvent.getRating() + difference);
-            event.setRating(event.getRating() + difference);
-        } else if (statusLike == StatusLike.DISLIKE) {
-            initiatorEvent.setRating(initiatorEvent.getRating() - difference);
-            event.setRating(event.getRating() - difference);
-        }
+    private long changeRatingUserAndEvent(Event event, StatusLike statusLike, int difference) {
+        long delta = statusLike == StatusLike.LIKE ? difference : -difference;
+        ratingAccumulator.add(event.getId(), event.getInitiator().getId(), delta);
+        return delta;
+    }
+
+    private EventFullDto toEventFullDto(Event event, long delta) {
+        EventFullDto eventFullDto = eventMapper.eventToEventFullDto(event);
+        eventFullDto.setRating(ratingAccumulator.getEventRating(event.getId(), event.getRating()) + delta);
+        return eventFullDto;
     }
 }
@@ -18,22 +18,9 @@ public interface RequestMapper {
     List<ParticipationRequestDto> listRequestToListParticipationRequestDto(List<Request> request);
 
 
-    default List<ParticipationRequestDto> getConfirmedRequests(List<Request> request) {
-        return request.stream()
-                .filter(r -> r.getStatus() == Status.CONFIRMED)
-                .map(this::requestToParticipationRequestDto)
-                .toList();
+    default EventRequestStatusUpdateResultDto toEventRequestStatusResult(List<ParticipationRequestDto> requests) {
+        return new EventRequestStatusUpdateResultDto(
+                requests.stream().filter(request -> request.getStatus() == Status.CONFIRMED).toList(),
+                requests.stream().filter(request -> request.getStatus() == Status.REJECTED).toList());
     }
-
-
-    default List<ParticipationRequestDto> getRejectedRequests(List<Request> request) {
-        return request.stream()
-                .filter(r -> r.getStatus() == Status.REJECTED)
-                .map(this::requestToParticipationRequestDto)
-                .toList();
-    }
-
-    @Mapping(target = "confirmedRequests", expression = "java(getConfirmedRequests(requests))")
-    @Mapping(target = "rejectedRequests", expression = "java(getRejectedRequests(requests))")
-    EventRequestStatusUpdateResultDto toEventRequestStatusResult(Integer dummy, List<Request> requests);
 }
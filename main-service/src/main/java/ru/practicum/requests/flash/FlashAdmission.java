@@ -0,0 +1,6 @@
+package ru.practicum.requests.flash;
+
+import java.time.LocalDateTime;
+
+public record FlashAdmission(long eventId, long requesterId, LocalDateTime created) {
+}
@@ -0,0 +1,64 @@
+package ru.practicum.requests.flash;
+
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class FlashEvent {
+    @Getter
+    private final long eventId;
+    @Getter
+    private final long initiatorId;
+    private final Set<Long> requesters = ConcurrentHashMap.newKeySet();
+    private final AtomicLong remainingSeats;
+    private volatile long participantLimit;
+
+    public FlashEvent(long eventId, long initiatorId, long participantLimit, long confirmedRequests,
+                      Collection<Long> requesters) {
+        this.eventId = eventId;
+        this.initiatorId = initiatorId;
+        this.participantLimit = participantLimit;
+        this.remainingSeats = new AtomicLong(participantLimit - confirmedRequests);
+        this.requesters.addAll(requesters);
+    }
+
+    public boolean hasSeats() {
+        return remainingSeats.get() > 0;
+    }
+
+    public boolean addRequester(long requesterId) {
+        return requesters.add(requesterId);
+    }
+
+    public void removeRequester(long requesterId) {
+        requesters.remove(requesterId);
+    }
+
+    public boolean tryAcquireSeat() {
+        while (true) {
+            long remaining = remainingSeats.get();
+            if (remaining <= 0) {
+                return false;
+            }
+            if (remainingSeats.compareAndSet(remaining, remaining - 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void releaseSeat() {
+        remainingSeats.incrementAndGet();
+    }
+
+    public synchronized void resize(long newParticipantLimit) {
+        remainingSeats.addAndGet(newParticipantLimit - participantLimit);
+        participantLimit = newParticipantLimit;
+    }
+
+    public long getRemainingSeats() {
+        return Math.max(0, remainingSeats.get());
+    }
+}
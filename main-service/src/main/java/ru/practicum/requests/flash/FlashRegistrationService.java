@@ -0,0 +1,300 @@
+package ru.practicum.requests.flash;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.errorHandler.IntegrityViolationException;
+import ru.practicum.errorHandler.NotFoundException;
+import ru.practicum.errorHandler.RestrictionsViolationException;
+import ru.practicum.event.model.Event;
+import ru.practicum.event.model.State;
+import ru.practicum.event.readmodel.PublishedEventReadModel;
+import ru.practicum.requests.dto.ParticipationRequestDto;
+import ru.practicum.requests.model.Status;
+import ru.practicum.user.repository.UserRepository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+@Slf4j
+public class FlashRegistrationService implements MeterBinder {
+    private static final String INSERT_REQUEST =
+            "insert into requests (created, event_id, requester_id, status) values (?, ?, ?, ?)";
+    private static final String ADD_CONFIRMED_REQUESTS =
+            "update events set confirmed_requests = confirmed_requests + ? where id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserRepository userRepository;
+    private final PublishedEventReadModel publishedEventReadModel;
+    private final Map<Long, FlashEvent> events = new ConcurrentHashMap<>();
+    private final Set<Long> knownUsers = ConcurrentHashMap.newKeySet();
+    private final BlockingQueue<FlashAdmission> queue;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final AtomicLong admitted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public FlashRegistrationService(JdbcTemplate jdbcTemplate,
+                                    TransactionTemplate transactionTemplate,
+                                    UserRepository userRepository,
+                                    PublishedEventReadModel publishedEventReadModel,
+                                    @Value("${requests.flash.queue-capacity:100000}") int queueCapacity,
+                                    @Value("${requests.flash.batch-size:500}") int batchSize,
+                                    @Value("${requests.flash.flush-interval-ms:200}") long flushIntervalMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.userRepository = userRepository;
+        this.publishedEventReadModel = publishedEventReadModel;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.writer = new Thread(this::run, "flash-registration-writer");
+        this.writer.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.interrupt();
+        writer.join(flushIntervalMillis);
+        List<FlashAdmission> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        if (!rest.isEmpty()) {
+            flush(rest);
+        }
+        log.info("Запись заявок быстрой регистрации остановлена");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        jdbcTemplate.query("select id, initiator_id, participant_limit, confirmed_requests from events " +
+                        "where flash_registration = true and state = ? and request_moderation = false " +
+                        "and participant_limit > 0",
+                (rs, rowNum) -> activate(rs.getLong("id"), rs.getLong("initiator_id"),
+                        rs.getLong("participant_limit"), rs.getLong("confirmed_requests")),
+                State.PUBLISHED.name());
+        log.info("Быстрая регистрация восстановлена для событий: {}", events.keySet());
+    }
+
+    public boolean isActive(long eventId) {
+        return events.containsKey(eventId);
+    }
+
+    public ParticipationRequestDto admit(long userId, long eventId) {
+        FlashEvent event = events.get(eventId);
+        if (event == null) {
+            throw new NotFoundException(String.format("Событие с id=%d не существует", eventId));
+        }
+        if (event.getInitiatorId() == userId) {
+            rejected.incrementAndGet();
+            throw new IntegrityViolationException("Нарушение целостности");
+        }
+        if (!event.hasSeats()) {
+            rejected.incrementAndGet();
+            throw new IntegrityViolationException("Превышен лимит запросов");
+        }
+        if (!event.addRequester(userId)) {
+            rejected.incrementAndGet();
+            throw new IntegrityViolationException(String.format("Запрос с пользователем id=%d и событием id=%d уже существует", userId, eventId));
+        }
+        if (!knownUsers.contains(userId) && !userRepository.existsById(userId)) {
+            event.removeRequester(userId);
+            throw new NotFoundException(String.format("Пользователь с id=%d не существует", userId));
+        }
+        if (!event.tryAcquireSeat()) {
+            event.removeRequester(userId);
+            rejected.incrementAndGet();
+            throw new IntegrityViolationException("Превышен лимит запросов");
+        }
+
+        knownUsers.add(userId);
+
+        FlashAdmission admission = new FlashAdmission(eventId, userId, LocalDateTime.now());
+        if (!queue.offer(admission)) {
+            event.releaseSeat();
+            event.removeRequester(userId);
+            rejected.incrementAndGet();
+            throw new RestrictionsViolationException("Очередь заявок переполнена, повторите запрос позже");
+        }
+        admitted.incrementAndGet();
+        return new ParticipationRequestDto(null, admission.created(), eventId, userId, Status.PENDING);
+    }
+
+    public void release(long eventId) {
+        FlashEvent event = events.get(eventId);
+        if (event != null) {
+            afterCommit(event::releaseSeat);
+        }
+    }
+
+    public void forgetUser(long userId) {
+        knownUsers.remove(userId);
+    }
+
+    public void refresh(Event event) {
+        long eventId = event.getId();
+        boolean eligible = event.getFlashRegistration() && event.getState() == State.PUBLISHED
+                && !event.getRequestModeration() && event.getParticipantLimit() > 0;
+        long initiatorId = event.getInitiator().getId();
+        long participantLimit = event.getParticipantLimit();
+        afterCommit(() -> {
+            FlashEvent current = events.get(eventId);
+            if (!eligible) {
+                if (events.remove(eventId) != null) {
+                    log.info("Быстрая регистрация для события id={} выключена", eventId);
+                }
+            } else if (current != null) {
+                current.resize(participantLimit);
+            } else {
+                Long confirmedRequests = jdbcTemplate.queryForObject(
+                        "select confirmed_requests from events where id = ?", Long.class, eventId);
+                activate(eventId, initiatorId, participantLimit, confirmedRequests);
+            }
+        });
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getAdmitted() {
+        return admitted.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("requests.flash.queue.depth", this, FlashRegistrationService::getQueueDepth)
+                .register(registry);
+        FunctionCounter.builder("requests.flash.admitted", this, FlashRegistrationService::getAdmitted)
+                .register(registry);
+        FunctionCounter.builder("requests.flash.rejected", this, FlashRegistrationService::getRejected)
+                .register(registry);
+        FunctionCounter.builder("requests.flash.failed", this, FlashRegistrationService::getFailed)
+                .register(registry);
+    }
+
+    private FlashEvent activate(long eventId, long initiatorId, long participantLimit, long confirmedRequests) {
+        List<Long> requesters = jdbcTemplate.queryForList(
+                "select requester_id from requests where event_id = ?", Long.class, eventId);
+        FlashEvent event = new FlashEvent(eventId, initiatorId, participantLimit, confirmedRequests, requesters);
+        events.put(eventId, event);
+        log.info("Быстрая регистрация для события id={} включена, свободных мест: {}", eventId,
+                event.getRemainingSeats());
+        return event;
+    }
+
+    private void run() {
+        List<FlashAdmission> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                FlashAdmission first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - batch.size());
+                flush(batch);
+            } catch (InterruptedException e) {
+                if (!batch.isEmpty()) {
+                    flush(batch);
+                }
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<FlashAdmission> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> persist(batch));
+            log.debug("Сохранена пачка из {} заявок быстрой регистрации", batch.size());
+        } catch (Exception e) {
+            log.error("Сохранение пачки из {} заявок быстрой регистрации завершилось ошибкой, сохраняем по одной.",
+                    batch.size(), e);
+            for (FlashAdmission admission : batch) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> persist(List.of(admission)));
+                } catch (Exception single) {
+                    failed.incrementAndGet();
+                    FlashEvent event = events.get(admission.eventId());
+                    if (event != null) {
+                        event.releaseSeat();
+                        event.removeRequester(admission.requesterId());
+                    }
+                    log.error("Заявка пользователя id={} на событие id={} не сохранена.",
+                            admission.requesterId(), admission.eventId(), single);
+                }
+            }
+        }
+    }
+
+    private void persist(List<FlashAdmission> admissions) {
+        List<Object[]> requests = new ArrayList<>(admissions.size());
+        Map<Long, Long> confirmedByEvent = new HashMap<>();
+        for (FlashAdmission admission : admissions) {
+            requests.add(new Object[]{Timestamp.valueOf(admission.created()), admission.eventId(),
+                    admission.requesterId(), Status.CONFIRMED.name()});
+            confirmedByEvent.merge(admission.eventId(), 1L, Long::sum);
+        }
+        jdbcTemplate.batchUpdate(INSERT_REQUEST, requests);
+        jdbcTemplate.batchUpdate(ADD_CONFIRMED_REQUESTS, confirmedByEvent.entrySet().stream()
+                .map(entry -> new Object[]{entry.getValue(), entry.getKey()})
+                .toList());
+        confirmedByEvent.forEach(publishedEventReadModel::adjustConfirmedRequests);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package ru.practicum.requests.model;
+
+public record EventRequestsState(Long participantLimit, Long confirmedRequests, Long matchingRequests) {
+}
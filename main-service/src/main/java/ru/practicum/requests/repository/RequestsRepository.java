@@ -1,11 +1,16 @@
 package ru.practicum.requests.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.event.model.Event;
+import ru.practicum.requests.dto.ParticipationRequestDto;
+import ru.practicum.requests.model.EventRequestsState;
 import ru.practicum.requests.model.Request;
 import ru.practicum.requests.model.Status;
 import ru.practicum.user.model.User;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -20,7 +25,29 @@ public interface RequestsRepository extends JpaRepository<Request, Long> {
 
     Optional<Request> findByEventIdAndRequesterId(long eventId, long requesterId);
 
+    boolean existsByEventIdAndRequesterId(long eventId, long requesterId);
+
     List<Request> findAllByStatusAndEventId(Status status, long eventId);
 
     boolean existsByEventAndRequesterAndStatus(Event event, User requester, Status status);
+
+    @Query("select new ru.practicum.requests.model.EventRequestsState(e.participantLimit, e.confirmedRequests, " +
+            "(select count(r.id) from Request r where r.id in :requestIds and r.event.id = :eventId and r.status = :status)) " +
+            "from Event e where e.id = :eventId")
+    Optional<EventRequestsState> findEventRequestsState(long eventId, Collection<Long> requestIds, Status status);
+
+    @Query("select new ru.practicum.requests.dto.ParticipationRequestDto(r.id, r.created, r.event.id, r.requester.id, r.status) " +
+            "from Request r where r.id in :requestIds order by r.id")
+    List<ParticipationRequestDto> findParticipationRequests(Collection<Long> requestIds);
+
+    @Modifying
+    @Query("update Request r set r.status = :status " +
+            "where r.id in :requestIds and r.event.id = :eventId and r.status = :expected")
+    int updateStatus(long eventId, Collection<Long> requestIds, Status expected, Status status);
+
+    @Modifying
+    @Query("update Request r set r.status = :status where r.event.id = :eventId and r.status = :expected " +
+            "and exists (select e.id from Event e where e.id = :eventId " +
+            "and e.participantLimit > 0 and e.confirmedRequests >= e.participantLimit)")
+    int updateStatusWhenLimitReached(long eventId, Status expected, Status status);
 }
\ No newline at end of file
@@ -2,19 +2,23 @@ package ru.practicum.requests.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.practicum.errorHandler.IntegrityViolationException;
 import ru.practicum.errorHandler.NotFoundException;
+import ru.practicum.errorHandler.RestrictionsViolationException;
 import ru.practicum.event.model.Event;
 import ru.practicum.event.model.State;
+import ru.practicum.event.readmodel.PublishedEventReadModel;
 import ru.practicum.event.repository.EventRepository;
 import ru.practicum.requests.dto.ParticipationRequestDto;
 import ru.practicum.requests.dto.mapper.RequestMapper;
+import ru.practicum.requests.flash.FlashRegistrationService;
 import ru.practicum.requests.model.Request;
 import ru.practicum.requests.model.Status;
 import ru.practicum.requests.repository.RequestsRepository;
-import ru.practicum.user.model.User;
 import ru.practicum.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
@@ -28,6 +32,9 @@ public class RequestServiceImpl implements RequestService {
     private final RequestMapper requestMapper;
     private final UserRepository userRepository;
     private final EventRepository eventRepository;
+    private final PublishedEventReadModel publishedEventReadModel;
+    private final FlashRegistrationService flashRegistrationService;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
     @Transactional(readOnly = true)
@@ -38,53 +45,75 @@ public class RequestServiceImpl implements RequestService {
     }
 
     @Override
-    @Transactional
     public ParticipationRequestDto addRequest(long userId, long eventId) {
-        requestsRepository.findByEventIdAndRequesterId(eventId, userId).ifPresent(
-                r -> {
-                    throw new IntegrityViolationException(String.format("Запрос с пользователем id=%d и событием id=%d не найден", userId, eventId));
-                });
-
-        eventRepository.findByIdAndInitiatorId(eventId, userId).ifPresent(
-                r -> {
-                    throw new IntegrityViolationException("Нарушение целостности");
-                });
-
-        User user = userRepository.findById(userId).orElseThrow(() -> new NotFoundException(String.format("Пользователь с id=%d не существует", userId)));
-        Event event = eventRepository.findById(eventId).orElseThrow(() -> new NotFoundException(String.format("Событие с id=%d не существует", eventId)));
-
-        if (!event.getState().equals(State.PUBLISHED)) {
-            throw new IntegrityViolationException(String.format("Событие с id=%d не опубликовано", eventId));
+        if (flashRegistrationService.isActive(eventId)) {
+            return flashRegistrationService.admit(userId, eventId);
         }
+        return transactionTemplate.execute(status -> saveRequest(userId, eventId));
+    }
 
-        List<Request> confirmedRequests = requestsRepository.findAllByStatusAndEventId(Status.CONFIRMED, eventId);
+    @Override
+    @Transactional
+    public ParticipationRequestDto cancelRequest(long userId, long requestId) {
+        userRepository.findById(userId).orElseThrow(() -> new NotFoundException(String.format("Пользователь с id=%d не существует", userId)));
+        Request request = requestsRepository.findById(requestId).orElseThrow(() -> new NotFoundException(String.format("Запрос с id=%d не существует", userId)));
+        if (request.getStatus() == Status.CONFIRMED) {
+            eventRepository.addConfirmedRequests(request.getEvent().getId(), -1);
+            publishedEventReadModel.adjustConfirmedRequests(request.getEvent().getId(), -1);
+            flashRegistrationService.release(request.getEvent().getId());
+        }
+        request.setStatus(Status.CANCELED);
+        return requestMapper.requestToParticipationRequestDto(request);
+    }
 
-        if ((!event.getParticipantLimit().equals(0L))
-                && (event.getParticipantLimit() == confirmedRequests.size())) {
-            throw new IntegrityViolationException("Превышен лимит запросов");
+    private ParticipationRequestDto saveRequest(long userId, long eventId) {
+        Status status;
+        if (eventRepository.confirmParticipant(eventId, userId, State.PUBLISHED) > 0) {
+            status = Status.CONFIRMED;
+            publishedEventReadModel.adjustConfirmedRequests(eventId, 1);
+        } else {
+            checkAdmission(userId, eventId);
+            status = Status.PENDING;
         }
 
         Request request = new Request();
         request.setCreated(LocalDateTime.now());
-        request.setRequester(user);
-        request.setEvent(event);
+        request.setRequester(userRepository.getReferenceById(userId));
+        request.setEvent(eventRepository.getReferenceById(eventId));
+        request.setStatus(status);
 
-        if ((event.getParticipantLimit().equals(0L)) || (!event.getRequestModeration())) {
-            request.setStatus(Status.CONFIRMED);
-        } else {
-            request.setStatus(Status.PENDING);
+        try {
+            request = requestsRepository.saveAndFlush(request);
+        } catch (DataIntegrityViolationException e) {
+            throw new IntegrityViolationException(String.format("Запрос с пользователем id=%d и событием id=%d уже существует", userId, eventId));
         }
-
-        request = requestsRepository.save(request);
         return requestMapper.requestToParticipationRequestDto(request);
     }
 
-    @Override
-    @Transactional
-    public ParticipationRequestDto cancelRequest(long userId, long requestId) {
-        userRepository.findById(userId).orElseThrow(() -> new NotFoundException(String.format("Пользователь с id=%d не существует", userId)));
-        Request request = requestsRepository.findById(requestId).orElseThrow(() -> new NotFoundException(String.format("Запрос с id=%d не существует", userId)));
-        request.setStatus(Status.CANCELED);
-        return requestMapper.requestToParticipationRequestDto(request);
+    private void checkAdmission(long userId, long eventId) {
+        if (requestsRepository.existsByEventIdAndRequesterId(eventId, userId)) {
+            throw new IntegrityViolationException(String.format("Запрос с пользователем id=%d и событием id=%d уже существует", userId, eventId));
+        }
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException(String.format("Пользователь с id=%d не существует", userId));
+        }
+        Event event = eventRepository.findById(eventId).orElseThrow(() -> new NotFoundException(String.format("Событие с id=%d не существует", eventId)));
+
+        if (event.getInitiator().getId() == userId) {
+            throw new IntegrityViolationException("Нарушение целостности");
+        }
+
+        if (!event.getState().equals(State.PUBLISHED)) {
+            throw new IntegrityViolationException(String.format("Событие с id=%d не опубликовано", eventId));
+        }
+
+        if (event.getFlashRegistration() && !event.getRequestModeration() && event.getParticipantLimit() > 0) {
+            throw new RestrictionsViolationException(String.format("Быстрая регистрация на событие id=%d включается, повторите запрос позже", eventId));
+        }
+
+        if (event.getParticipantLimit().equals(0L) || !event.getRequestModeration()
+                || event.getConfirmedRequests() >= event.getParticipantLimit()) {
+            throw new IntegrityViolationException("Превышен лимит запросов");
+        }
     }
 }
@@ -8,6 +8,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.like.dto.RatingRankDto;
 import ru.practicum.user.dto.UserDto;
 import ru.practicum.user.dto.UserRequestDto;
 import ru.practicum.user.dto.mapper.UserMapper;
@@ -37,6 +38,11 @@ public class UserAdminController {
         return userService.getAllUsersBySortRating(from, size);
     }
 
+    @GetMapping("/{userId}/rank")
+    public RatingRankDto getUserRatingRank(@PathVariable long userId) {
+        return userService.getUserRatingRank(userId);
+    }
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public UserDto createUser(@RequestBody @Valid UserRequestDto userRequestDto) {
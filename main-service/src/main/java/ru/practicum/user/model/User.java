@@ -28,6 +28,6 @@ public class User {
     String name;
 
     @NotNull
-    @Column
+    @Column(updatable = false)
     Long rating;
 }
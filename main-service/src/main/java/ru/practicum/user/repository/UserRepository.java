@@ -3,6 +3,7 @@ package ru.practicum.user.repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.user.model.User;
 
 import java.util.List;
@@ -12,4 +13,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findUserByEmail(String email);
 
     Page<User> findAllByIdIn(List<Long> ids, PageRequest pageRequest);
+
+    @Query("select count(u.id) from User u where u.rating > :rating or (u.rating = :rating and u.id > :userId)")
+    long countRankedAbove(long rating, long userId);
 }
@@ -1,5 +1,6 @@
 package ru.practicum.user.service;
 
+import ru.practicum.like.dto.RatingRankDto;
 import ru.practicum.user.dto.UserDto;
 import ru.practicum.user.dto.UserRequestDto;
 
@@ -10,6 +11,8 @@ public interface UserService {
 
     List<UserDto> getAllUsersBySortRating(int from, int size);
 
+    RatingRankDto getUserRatingRank(long userId);
+
     UserDto createUser(UserRequestDto requestDto);
 
     void deleteUser(long userId);
@@ -9,6 +9,11 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
 import ru.practicum.errorHandler.IntegrityViolationException;
 import ru.practicum.errorHandler.NotFoundException;
+import ru.practicum.like.dto.RatingRankDto;
+import ru.practicum.like.rating.RatingAccumulator;
+import ru.practicum.like.rating.RatingLeaderboard;
+import ru.practicum.like.rating.RatingLeaderboards;
+import ru.practicum.requests.flash.FlashRegistrationService;
 import ru.practicum.user.dto.UserDto;
 import ru.practicum.user.dto.UserRequestDto;
 import ru.practicum.user.dto.mapper.UserMapper;
@@ -16,6 +21,10 @@ import ru.practicum.user.model.User;
 import ru.practicum.user.repository.UserRepository;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -24,6 +33,9 @@ import java.util.List;
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final RatingAccumulator ratingAccumulator;
+    private final RatingLeaderboards ratingLeaderboards;
+    private final FlashRegistrationService flashRegistrationService;
 
     @Override
     @Transactional(readOnly = true)
@@ -37,15 +49,32 @@ public class UserServiceImpl implements UserService {
             users = userRepository.findAllByIdIn(ids, pageRequest).getContent();
         }
 
-        return userMapper.listUserToListUserDto(users);
+        return setRatings(userMapper.listUserToListUserDto(users));
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<UserDto> getAllUsersBySortRating(int from, int size) {
-        PageRequest pageRequest = PageRequest.of(from, size, Sort.by(Sort.Direction.DESC, "rating"));
+        Optional<List<User>> topUsers = findTopUsers((long) from * size, size);
+        if (topUsers.isPresent()) {
+            return setRatings(userMapper.listUserToListUserDto(topUsers.get()));
+        }
+        PageRequest pageRequest = PageRequest.of(from, size, Sort.by(Sort.Direction.DESC, "rating", "id"));
         List<User> users = userRepository.findAll(pageRequest).getContent();
-        return userMapper.listUserToListUserDto(users);
+        return setRatings(userMapper.listUserToListUserDto(users));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RatingRankDto getUserRatingRank(long userId) {
+        Optional<RatingLeaderboard.Entry> entry = ratingLeaderboards.getUser(userId);
+        if (entry.isPresent()) {
+            return new RatingRankDto(userId, ratingAccumulator.getUserRating(userId, entry.get().rating()),
+                    ratingLeaderboards.getUserRank(userId).orElseThrow());
+        }
+        User user = userRepository.findById(userId).orElseThrow(() -> new NotFoundException(String.format("Пользователь с id=%d не существует", userId)));
+        return new RatingRankDto(userId, ratingAccumulator.getUserRating(userId, user.getRating()),
+                userRepository.countRankedAbove(user.getRating(), userId) + 1);
     }
 
     @Override
@@ -56,6 +85,7 @@ public class UserServiceImpl implements UserService {
         });
         user.setRating(0L);
         userRepository.save(user);
+        ratingLeaderboards.addUser(user.getId());
         return userMapper.userToUserDto(user);
     }
 
@@ -63,5 +93,28 @@ public class UserServiceImpl implements UserService {
     public void deleteUser(long userId) {
         userRepository.findById(userId).orElseThrow(() -> new NotFoundException(String.format("Пользователь с id=%d не существует", userId)));
         userRepository.deleteById(userId);
+        ratingLeaderboards.removeUser(userId);
+        flashRegistrationService.forgetUser(userId);
+    }
+
+    private Optional<List<User>> findTopUsers(long offset, int size) {
+        while (true) {
+            Optional<List<Long>> userIds = ratingLeaderboards.getTopUsers(offset, size);
+            if (userIds.isEmpty()) {
+                return Optional.empty();
+            }
+            Map<Long, User> users = userRepository.findAllById(userIds.get()).stream()
+                    .collect(Collectors.toMap(User::getId, Function.identity()));
+            List<Long> deleted = userIds.get().stream().filter(userId -> !users.containsKey(userId)).toList();
+            if (deleted.isEmpty()) {
+                return Optional.of(userIds.get().stream().map(users::get).toList());
+            }
+            ratingLeaderboards.removeUsers(deleted);
+        }
+    }
+
+    private List<UserDto> setRatings(List<UserDto> users) {
+        users.forEach(user -> user.setRating(ratingAccumulator.getUserRating(user.getId(), user.getRating())));
+        return users;
     }
-}
\ No newline at end of file
+}
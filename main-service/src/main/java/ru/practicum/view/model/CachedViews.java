@@ -0,0 +1,23 @@
+package ru.practicum.view.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Getter
+@AllArgsConstructor
+public class CachedViews {
+    private final long views;
+    private final Instant loadedAt;
+    private final boolean stale;
+
+    public CachedViews asStale() {
+        return new CachedViews(views, loadedAt, true);
+    }
+
+    public Duration getStaleness(Instant now) {
+        return Duration.between(loadedAt, now);
+    }
+}
@@ -0,0 +1,191 @@
+package ru.practicum.view.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.StatClient;
+import ru.practicum.StatsViewDto;
+import ru.practicum.view.model.CachedViews;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@Slf4j
+public class ViewCache implements MeterBinder {
+    private static final String EVENT_URI = "/events/";
+
+    private final StatClient statClient;
+    private final Duration ttl;
+    private final Duration refreshAfter;
+    private final Map<Long, CachedViews> cache;
+    private final Set<Long> refreshing = ConcurrentHashMap.newKeySet();
+    private final ExecutorService refresher;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong refreshes = new AtomicLong();
+    private final AtomicLong refreshNanos = new AtomicLong();
+
+    public ViewCache(StatClient statClient,
+                     @Value("${views.cache.max-size:10000}") int maxSize,
+                     @Value("${views.cache.ttl-ms:60000}") long ttlMillis,
+                     @Value("${views.cache.refresh-after-ms:30000}") long refreshAfterMillis) {
+        this.statClient = statClient;
+        this.ttl = Duration.ofMillis(ttlMillis);
+        this.refreshAfter = Duration.ofMillis(refreshAfterMillis);
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedViews> eldest) {
+                return size() > maxSize;
+            }
+        };
+        this.refresher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "view-cache-refresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        refresher.shutdownNow();
+    }
+
+    public Map<Long, CachedViews> getViews(Collection<Long> eventIds) {
+        Instant now = Instant.now();
+        Map<Long, CachedViews> views = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        List<Long> stale = new ArrayList<>();
+        synchronized (cache) {
+            for (Long eventId : eventIds) {
+                CachedViews cached = cache.get(eventId);
+                if (cached == null || cached.getStaleness(now).compareTo(ttl) >= 0) {
+                    missing.add(eventId);
+                    continue;
+                }
+                views.put(eventId, cached);
+                if (cached.getStaleness(now).compareTo(refreshAfter) >= 0) {
+                    stale.add(eventId);
+                }
+            }
+        }
+        hits.addAndGet(views.size());
+        misses.addAndGet(missing.size());
+        if (!missing.isEmpty()) {
+            views.putAll(load(missing));
+        }
+        if (!stale.isEmpty()) {
+            refreshAsync(stale);
+        }
+        return views;
+    }
+
+    public long getSize() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getRefreshes() {
+        return refreshes.get();
+    }
+
+    public double getRefreshNanos() {
+        return refreshNanos.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("views.cache.size", this, ViewCache::getSize)
+                .register(registry);
+        FunctionCounter.builder("views.cache.hits", this, ViewCache::getHits)
+                .register(registry);
+        FunctionCounter.builder("views.cache.misses", this, ViewCache::getMisses)
+                .register(registry);
+        Gauge.builder("views.cache.hit.ratio", this, viewCache -> {
+                    long total = viewCache.getHits() + viewCache.getMisses();
+                    return total == 0 ? 0 : (double) viewCache.getHits() / total;
+                })
+                .register(registry);
+        FunctionTimer.builder("views.cache.refresh", this, ViewCache::getRefreshes, ViewCache::getRefreshNanos,
+                        TimeUnit.NANOSECONDS)
+                .register(registry);
+    }
+
+    private Map<Long, CachedViews> load(List<Long> eventIds) {
+        long started = System.nanoTime();
+        List<String> uris = eventIds.stream()
+                .map(eventId -> EVENT_URI + eventId)
+                .toList();
+        Optional<List<StatsViewDto>> stats = statClient.tryGetStats(LocalDateTime.now().minusYears(20),
+                LocalDateTime.now(), uris, true);
+        refreshes.incrementAndGet();
+        refreshNanos.addAndGet(System.nanoTime() - started);
+
+        Map<Long, CachedViews> views = new HashMap<>();
+        synchronized (cache) {
+            if (stats.isEmpty()) {
+                for (Long eventId : eventIds) {
+                    CachedViews cached = cache.get(eventId);
+                    views.put(eventId, cached != null ? cached.asStale() : new CachedViews(0L, Instant.EPOCH, true));
+                }
+                log.warn("Статистика просмотров недоступна, для {} событий использованы устаревшие значения", eventIds.size());
+                return views;
+            }
+            Map<String, Long> hitsByUri = new HashMap<>();
+            stats.get().forEach(viewStats -> hitsByUri.put(viewStats.getUri(), viewStats.getHits()));
+            Instant loadedAt = Instant.now();
+            for (Long eventId : eventIds) {
+                CachedViews cached = new CachedViews(hitsByUri.getOrDefault(EVENT_URI + eventId, 0L), loadedAt, false);
+                cache.put(eventId, cached);
+                views.put(eventId, cached);
+            }
+        }
+        return views;
+    }
+
+    private void refreshAsync(List<Long> eventIds) {
+        List<Long> toRefresh = eventIds.stream()
+                .filter(refreshing::add)
+                .toList();
+        if (toRefresh.isEmpty()) {
+            return;
+        }
+        refresher.execute(() -> {
+            try {
+                load(toRefresh);
+                log.debug("Обновлены просмотры для {} событий", toRefresh.size());
+            } finally {
+                toRefresh.forEach(refreshing::remove);
+            }
+        });
+    }
+}
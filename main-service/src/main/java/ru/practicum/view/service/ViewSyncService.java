@@ -0,0 +1,146 @@
+package ru.practicum.view.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import ru.practicum.StatClient;
+import ru.practicum.StatsViewDto;
+import ru.practicum.event.model.State;
+import ru.practicum.event.readmodel.PublishedEventReadModel;
+import ru.practicum.event.repository.EventRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+@Service
+@Slf4j
+public class ViewSyncService {
+    private static final String EVENT_URI = "/events/";
+
+    private final EventRepository eventRepository;
+    private final StatClient statClient;
+    private final PublishedEventReadModel publishedEventReadModel;
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final long lookbackMillis;
+    private final long fullSyncIntervalMillis;
+    private LocalDateTime lastSync;
+    private LocalDateTime lastFullSync;
+
+    public ViewSyncService(EventRepository eventRepository,
+                           StatClient statClient,
+                           PublishedEventReadModel publishedEventReadModel,
+                           JdbcTemplate jdbcTemplate,
+                           @Value("${views.sync.batch-size:200}") int batchSize,
+                           @Value("${views.sync.lookback-ms:600000}") long lookbackMillis,
+                           @Value("${views.sync.full-interval-ms:86400000}") long fullSyncIntervalMillis) {
+        this.eventRepository = eventRepository;
+        this.statClient = statClient;
+        this.publishedEventReadModel = publishedEventReadModel;
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.lookbackMillis = lookbackMillis;
+        this.fullSyncIntervalMillis = fullSyncIntervalMillis;
+    }
+
+    @Scheduled(fixedDelayString = "${views.sync.interval-ms:60000}", initialDelayString = "${views.sync.interval-ms:60000}")
+    public synchronized void sync() {
+        LocalDateTime now = LocalDateTime.now();
+        if (lastFullSync == null || !now.isBefore(lastFullSync.plus(fullSyncIntervalMillis, ChronoUnit.MILLIS))) {
+            if (syncAll()) {
+                lastFullSync = now;
+                lastSync = now;
+            }
+            return;
+        }
+        Optional<List<StatsViewDto>> changed = statClient.tryGetStats(lastSync.minus(lookbackMillis, ChronoUnit.MILLIS),
+                now, List.of(), false);
+        if (changed.isEmpty()) {
+            log.warn("Синхронизация просмотров пропущена: сервер статистики недоступен");
+            return;
+        }
+        Set<Long> changedIds = new TreeSet<>();
+        for (StatsViewDto viewStats : changed.get()) {
+            toEventId(viewStats.getUri()).ifPresent(changedIds::add);
+        }
+        List<Long> eventIds = changedIds.isEmpty()
+                ? List.of() : eventRepository.findIdsByStateAndIdIn(State.PUBLISHED, changedIds);
+        int updated = 0;
+        for (int from = 0; from < eventIds.size(); from += batchSize) {
+            int batchUpdated = syncViews(eventIds.subList(from, Math.min(from + batchSize, eventIds.size())));
+            if (batchUpdated < 0) {
+                log.warn("Синхронизация просмотров прервана: сервер статистики недоступен");
+                return;
+            }
+            updated += batchUpdated;
+        }
+        lastSync = now;
+        log.info("Синхронизация просмотров завершена, событий с новыми просмотрами: {}, обновлено: {}",
+                eventIds.size(), updated);
+    }
+
+    private boolean syncAll() {
+        long afterId = 0;
+        int updated = 0;
+        while (true) {
+            List<Long> eventIds = eventRepository.findIdsByStateAfter(State.PUBLISHED, afterId, PageRequest.of(0, batchSize));
+            if (eventIds.isEmpty()) {
+                break;
+            }
+            int batchUpdated = syncViews(eventIds);
+            if (batchUpdated < 0) {
+                log.warn("Полная синхронизация просмотров прервана: сервер статистики недоступен");
+                return false;
+            }
+            updated += batchUpdated;
+            afterId = eventIds.getLast();
+        }
+        log.info("Полная синхронизация просмотров завершена, обновлено событий: {}", updated);
+        return true;
+    }
+
+    private int syncViews(List<Long> eventIds) {
+        Optional<List<StatsViewDto>> stats = statClient.tryGetStats(LocalDateTime.now().minusYears(20),
+                LocalDateTime.now(), eventIds.stream().map(eventId -> EVENT_URI + eventId).toList(), true, true);
+        if (stats.isEmpty()) {
+            return -1;
+        }
+        Map<String, Long> hitsByUri = new HashMap<>();
+        stats.get().forEach(viewStats -> hitsByUri.put(viewStats.getUri(), viewStats.getHits()));
+        List<Object[]> rows = new ArrayList<>(eventIds.size());
+        for (Long eventId : eventIds) {
+            long views = hitsByUri.getOrDefault(EVENT_URI + eventId, 0L);
+            rows.add(new Object[]{views, eventId, views});
+        }
+        int updated = 0;
+        int[] counts = jdbcTemplate.batchUpdate("update events set views = ? where id = ? and views < ?", rows);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                publishedEventReadModel.updateViews((Long) rows.get(i)[1], (Long) rows.get(i)[0]);
+            }
+            updated += Math.max(counts[i], 0);
+        }
+        return updated;
+    }
+
+    private Optional<Long> toEventId(String uri) {
+        if (uri == null || !uri.startsWith(EVENT_URI)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Long.parseLong(uri.substring(EVENT_URI.length())));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+DO '
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM information_schema.columns
+                   WHERE table_name = ''events'' AND column_name = ''search_vector'' AND data_type = ''tsvector'') THEN
+        ALTER TABLE events DROP COLUMN IF EXISTS search_vector;
+        ALTER TABLE events ADD COLUMN search_vector TSVECTOR GENERATED ALWAYS AS (
+            setweight(to_tsvector(''russian'', coalesce(annotation, '''')), ''A'') ||
+            setweight(to_tsvector(''english'', coalesce(annotation, '''')), ''A'') ||
+            setweight(to_tsvector(''russian'', coalesce(description, '''')), ''B'') ||
+            setweight(to_tsvector(''english'', coalesce(description, '''')), ''B'')
+        ) STORED;
+    END IF;
+END';
+
+CREATE INDEX IF NOT EXISTS events_search_vector_idx ON events USING GIN (search_vector);
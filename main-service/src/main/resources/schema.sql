@@ -16,11 +16,15 @@ CREATE TABLE IF NOT EXISTS categories
 
 CREATE TABLE IF NOT EXISTS location
 (
-    id  BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
-    lat FLOAT NOT NULL,
-    lon FLOAT NOT NULL
+    id      BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    lat     FLOAT NOT NULL,
+    lon     FLOAT NOT NULL,
+    geohash BIGINT
 );
 
+ALTER TABLE location ADD COLUMN IF NOT EXISTS geohash BIGINT;
+CREATE INDEX IF NOT EXISTS location_geohash_idx ON location (geohash);
+
 CREATE TABLE IF NOT EXISTS events
 (
     id                 BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
@@ -35,20 +39,35 @@ CREATE TABLE IF NOT EXISTS events
     participant_limit  INTEGER   NOT NULL,
     published_on       TIMESTAMP,
     request_moderation BOOLEAN   NOT NULL,
+    flash_registration BOOLEAN   NOT NULL DEFAULT FALSE,
     state              VARCHAR   NOT NULL,
     title              VARCHAR   NOT NULL,
     confirmed_requests INTEGER   NOT NULL,
-    rating             INTEGER   NOT NULL
+    rating             INTEGER   NOT NULL,
+    views              BIGINT    NOT NULL DEFAULT 0,
+    search_vector      VARCHAR
 );
 
+ALTER TABLE events ADD COLUMN IF NOT EXISTS flash_registration BOOLEAN NOT NULL DEFAULT FALSE;
+ALTER TABLE events ADD COLUMN IF NOT EXISTS views BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE events ADD COLUMN IF NOT EXISTS search_vector VARCHAR;
+
+CREATE INDEX IF NOT EXISTS events_views_idx ON events (views, id);
+CREATE INDEX IF NOT EXISTS events_event_date_idx ON events (event_date, id);
+CREATE INDEX IF NOT EXISTS events_rating_idx ON events (rating, id);
+
 CREATE TABLE IF NOT EXISTS requests
 (
     id           BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
     created      TIMESTAMP   NOT NULL,
     event_id     BIGINT REFERENCES events (id) ON DELETE CASCADE ON UPDATE CASCADE,
     requester_id BIGINT REFERENCES users (id) ON DELETE CASCADE ON UPDATE CASCADE,
-    status       VARCHAR(20) NOT NULL
+    status       VARCHAR(20) NOT NULL,
+    CONSTRAINT requests_event_requester_uq UNIQUE (event_id, requester_id)
 );
+
+CREATE UNIQUE INDEX IF NOT EXISTS requests_event_requester_uq ON requests (event_id, requester_id);
+
 CREATE TABLE IF NOT EXISTS compilations
 (
     id     BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
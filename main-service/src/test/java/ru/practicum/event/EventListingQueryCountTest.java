@@ -0,0 +1,178 @@
+package ru.practicum.event;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.transaction.AfterTransaction;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.category.model.Category;
+import ru.practicum.compilation.model.Compilation;
+import ru.practicum.compilation.service.CompilationService;
+import ru.practicum.event.dto.CursorPage;
+import ru.practicum.event.dto.EventFullDto;
+import ru.practicum.event.dto.EventShortDto;
+import ru.practicum.event.enums.EventPublicSort;
+import ru.practicum.event.geo.GeoArea;
+import ru.practicum.event.model.Event;
+import ru.practicum.event.model.Location;
+import ru.practicum.event.model.State;
+import ru.practicum.event.service.EventService;
+import ru.practicum.like.rating.RatingAccumulator;
+import ru.practicum.user.model.User;
+import ru.practicum.view.model.CachedViews;
+import ru.practicum.view.service.ViewCache;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class EventListingQueryCountTest {
+    private static final int EVENTS = 8;
+
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EventService eventService;
+    @Autowired
+    private CompilationService compilationService;
+    @Autowired
+    private RatingAccumulator ratingAccumulator;
+    @MockBean
+    private ViewCache viewCache;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        when(viewCache.getViews(any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().collect(Collectors.toMap(Function.identity(),
+                    id -> new CachedViews(0L, Instant.now(), false)));
+        });
+
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < EVENTS; i++) {
+            User user = new User(null, "user" + i + "@mail.ru", "user" + i, 0L);
+            Category category = new Category(null, "category" + i);
+            entityManager.persist(user);
+            entityManager.persist(category);
+            Event event = new Event();
+            event.setAnnotation("annotation " + i);
+            event.setCategory(category);
+            event.setCreatedOn(LocalDateTime.now());
+            event.setDescription("description " + i);
+            event.setEventDate(LocalDateTime.now().plusDays(i + 1));
+            event.setInitiator(user);
+            event.setLocation(new Location(null, 55.75f, 37.61f));
+            event.setPaid(false);
+            event.setParticipantLimit(0L);
+            event.setPublishedOn(LocalDateTime.now());
+            event.setRequestModeration(true);
+            event.setState(State.PUBLISHED);
+            event.setTitle("title " + i);
+            event.setConfirmedRequests(0L);
+            event.setRating((long) i);
+            event.setViews(0L);
+            entityManager.persist(event);
+            events.add(event);
+        }
+        for (int i = 0; i < 3; i++) {
+            entityManager.persist(new Compilation(null, new ArrayList<>(events), i % 2 == 0, "compilation " + i));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        ratingAccumulator.loadLeaderboards();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterTransaction
+    void reloadLeaderboards() {
+        ratingAccumulator.loadLeaderboards();
+    }
+
+    @Test
+    void adminListingUsesFixedNumberOfQueries() {
+        assertThat(eventService.getAllAdminEvents(null, null, null, null, null, 0, EVENTS, true)).hasSize(EVENTS);
+
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void publicCursorListingUsesOneQuery() {
+        assertThat(eventService.getPublicEventsPage(null, null, null, null, null, false,
+                EventPublicSort.EVENT_DATE, null, EVENTS).getContent()).hasSize(EVENTS);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void publicListingReadsProjectionsOnly() {
+        assertThat(eventService.getAllPublicEvents(null, null, null, null, null, false,
+                EventPublicSort.VIEWS, 0, EVENTS)).hasSize(EVENTS);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void nearbyListingReadsOnePageInOneQuery() {
+        List<EventShortDto> all = eventService.getPublicEventsNear(null, null, null, null, null, false,
+                new GeoArea(55.75, 37.61, 1), 0, EVENTS);
+        statistics.clear();
+
+        List<EventShortDto> page = eventService.getPublicEventsNear(null, null, null, null, null, false,
+                new GeoArea(55.75, 37.61, 1), 1, 3);
+
+        assertThat(all).hasSize(EVENTS);
+        assertThat(page).extracting(EventShortDto::getId)
+                .containsExactlyElementsOf(all.subList(3, 6).stream().map(EventShortDto::getId).toList());
+        assertThat(page).allSatisfy(event -> assertThat(event.getDistance()).isLessThan(1));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void compilationListingUsesFixedNumberOfQueries() {
+        assertThat(compilationService.getAllCompilations(null, 0, 10))
+                .hasSize(3)
+                .allSatisfy(compilation -> assertThat(compilation.getEvents()).hasSize(EVENTS));
+
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void adminRatingPagesFollowOneOrder() {
+        List<Long> expected = eventService.getAllAdminEvents(null, null, null, null, null, 0, EVENTS, true).stream()
+                .sorted(Comparator.comparingLong(EventFullDto::getRating).thenComparingLong(EventFullDto::getId).reversed())
+                .map(EventFullDto::getId)
+                .toList();
+
+        List<Long> paged = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<EventFullDto> page = eventService.getAdminEventsPage(null, null, null, null, null, cursor, 3, true);
+            page.getContent().forEach(event -> paged.add(event.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(paged).isEqualTo(expected);
+    }
+}
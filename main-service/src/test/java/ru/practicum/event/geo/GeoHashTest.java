@@ -0,0 +1,50 @@
+package ru.practicum.event.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeoHashTest {
+
+    @Test
+    void coverContainsEveryPointInsideRadius() {
+        Random random = new Random(42);
+        for (int query = 0; query < 200; query++) {
+            double lat = random.nextDouble() * 180 - 90;
+            double lon = query % 10 == 0 ? 179.9 : random.nextDouble() * 360 - 180;
+            double radiusKm = 1 + random.nextDouble() * (GeoArea.MAX_RADIUS_KM - 1);
+            List<long[]> ranges = GeoHash.cover(lat, lon, radiusKm);
+
+            for (int point = 0; point < 500; point++) {
+                double bearing = random.nextDouble() * 2 * Math.PI;
+                double distance = random.nextDouble() * radiusKm / GeoHash.EARTH_RADIUS_KM;
+                double pointLat = Math.asin(Math.sin(Math.toRadians(lat)) * Math.cos(distance)
+                        + Math.cos(Math.toRadians(lat)) * Math.sin(distance) * Math.cos(bearing));
+                double pointLon = Math.toRadians(lon) + Math.atan2(
+                        Math.sin(bearing) * Math.sin(distance) * Math.cos(Math.toRadians(lat)),
+                        Math.cos(distance) - Math.sin(Math.toRadians(lat)) * Math.sin(pointLat));
+                double normalizedLon = (Math.toDegrees(pointLon) + 540) % 360 - 180;
+                long code = GeoHash.encode(Math.toDegrees(pointLat), normalizedLon);
+
+                assertThat(ranges).anySatisfy(range -> assertThat(code).isBetween(range[0], range[1]));
+            }
+        }
+    }
+
+    @Test
+    void coverOfSmallRadiusIsSmallPartOfTheWorld() {
+        List<long[]> ranges = GeoHash.cover(55.75, 37.61, 5);
+        long covered = ranges.stream().mapToLong(range -> range[1] - range[0] + 1).sum();
+
+        assertThat(ranges).hasSizeLessThanOrEqualTo(8);
+        assertThat((double) covered / (1L << 52)).isLessThan(1e-5);
+    }
+
+    @Test
+    void distanceBetweenMoscowAndSaintPetersburg() {
+        assertThat(GeoHash.distanceKm(55.7558, 37.6173, 59.9343, 30.3351)).isBetween(630.0, 640.0);
+    }
+}
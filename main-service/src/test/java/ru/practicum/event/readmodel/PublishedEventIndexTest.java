@@ -0,0 +1,64 @@
+package ru.practicum.event.readmodel;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.event.enums.EventKeyset;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PublishedEventIndexTest {
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    private PublishedEventIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PublishedEventIndex();
+        index.put(event(1, 1, false, 0, 0, START.plusDays(3), 5));
+        index.put(event(2, 2, true, 10, 10, START.plusDays(1), 7));
+        index.put(event(3, 1, true, 10, 3, START.plusDays(2), 7));
+        index.put(event(4, 2, false, 0, 0, START.plusDays(4), 1));
+    }
+
+    @Test
+    void filtersByBitmapsAndDateRange() {
+        PublishedEventFilter filter = new PublishedEventFilter(List.of(1L, 2L), true, START, START.plusDays(2), true);
+
+        assertThat(index.find(filter, EventKeyset.EVENT_DATE, null, 0, 10))
+                .extracting(PublishedEvent::id)
+                .containsExactly(3L);
+    }
+
+    @Test
+    void sortsAndPagesLikeDatabase() {
+        PublishedEventFilter filter = new PublishedEventFilter(null, null, null, null, false);
+
+        assertThat(index.find(filter, EventKeyset.EVENT_DATE, null, 1, 2))
+                .extracting(PublishedEvent::id)
+                .containsExactly(3L, 1L);
+        assertThat(index.find(filter, EventKeyset.RATING, null, 0, 10))
+                .extracting(PublishedEvent::id)
+                .containsExactly(3L, 2L, 1L, 4L);
+    }
+
+    @Test
+    void reindexesUpdatedAndRemovedEvents() {
+        index.put(event(2, 1, true, 10, 10, START.plusDays(5), 7));
+        index.remove(4);
+        PublishedEventFilter filter = new PublishedEventFilter(List.of(1L), null, null, null, false);
+
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.find(filter, EventKeyset.EVENT_DATE, null, 0, 10))
+                .extracting(PublishedEvent::id)
+                .containsExactly(3L, 1L, 2L);
+    }
+
+    private PublishedEvent event(long id, long categoryId, boolean paid, long participantLimit, long confirmedRequests,
+                                 LocalDateTime eventDate, long rating) {
+        return new PublishedEvent(id, "annotation " + id, categoryId, "category " + categoryId, confirmedRequests,
+                eventDate, 1, "user", paid, participantLimit, "title " + id, rating, 0);
+    }
+}
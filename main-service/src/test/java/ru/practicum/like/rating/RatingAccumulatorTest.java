@@ -0,0 +1,113 @@
+package ru.practicum.like.rating;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.category.model.Category;
+import ru.practicum.category.repository.CategoryRepository;
+import ru.practicum.event.model.Event;
+import ru.practicum.event.model.Location;
+import ru.practicum.event.model.State;
+import ru.practicum.event.repository.EventRepository;
+import ru.practicum.user.model.User;
+import ru.practicum.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "likes.rating.merge-interval-ms=3600000")
+class RatingAccumulatorTest {
+    private static final int THREADS = 16;
+    private static final int LIKES_PER_THREAD = 1000;
+
+    @Autowired
+    private RatingAccumulator ratingAccumulator;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        eventRepository.deleteAll();
+        categoryRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentDeltasAreMergedWithoutLoss() throws Exception {
+        User initiator = userRepository.save(new User(null, "initiator@mail.ru", "initiator", 0L));
+        Category category = categoryRepository.save(new Category(null, "concerts"));
+        Event event = eventRepository.save(event(initiator, category));
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            long delta = i % 4 == 0 ? -1 : 1;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < LIKES_PER_THREAD; j++) {
+                    ratingAccumulator.add(event.getId(), initiator.getId(), delta);
+                }
+                return null;
+            }));
+        }
+        Future<?> merger = executor.submit(() -> {
+            start.await();
+            for (int i = 0; i < 20; i++) {
+                ratingAccumulator.merge();
+            }
+            return null;
+        });
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        merger.get(30, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        long expected = (long) LIKES_PER_THREAD * (THREADS - 2 * (THREADS / 4));
+        long eventRating = eventRepository.findById(event.getId()).orElseThrow().getRating();
+        long userRating = userRepository.findById(initiator.getId()).orElseThrow().getRating();
+        assertThat(ratingAccumulator.getEventRating(event.getId(), eventRating)).isEqualTo(expected);
+        assertThat(ratingAccumulator.getUserRating(initiator.getId(), userRating)).isEqualTo(expected);
+
+        ratingAccumulator.merge();
+        assertThat(eventRepository.findById(event.getId()).orElseThrow().getRating()).isEqualTo(expected);
+        assertThat(userRepository.findById(initiator.getId()).orElseThrow().getRating()).isEqualTo(expected);
+        assertThat(ratingAccumulator.getEventRating(event.getId(), expected)).isEqualTo(expected);
+    }
+
+    private Event event(User initiator, Category category) {
+        Event event = new Event();
+        event.setAnnotation("annotation");
+        event.setCategory(category);
+        event.setCreatedOn(LocalDateTime.now());
+        event.setDescription("description");
+        event.setEventDate(LocalDateTime.now().plusDays(1));
+        event.setInitiator(initiator);
+        event.setLocation(new Location(null, 55.75f, 37.61f));
+        event.setPaid(false);
+        event.setParticipantLimit(0L);
+        event.setPublishedOn(LocalDateTime.now());
+        event.setRequestModeration(true);
+        event.setState(State.PUBLISHED);
+        event.setTitle("title");
+        event.setConfirmedRequests(0L);
+        event.setRating(0L);
+        event.setViews(0L);
+        return event;
+    }
+}
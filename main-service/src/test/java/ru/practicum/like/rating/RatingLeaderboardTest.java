@@ -0,0 +1,50 @@
+package ru.practicum.like.rating;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RatingLeaderboardTest {
+
+    @Test
+    void pagesAndRanksMatchSortedRatings() {
+        Random random = new Random(42);
+        Map<Long, Long> ratings = new HashMap<>();
+        RatingLeaderboard leaderboard = RatingLeaderboard.of(Map.of(1L, 5L, 2L, -3L));
+        ratings.put(1L, 5L);
+        ratings.put(2L, -3L);
+        for (int i = 0; i < 20_000; i++) {
+            long id = random.nextInt(300);
+            int operation = random.nextInt(10);
+            if (operation == 0) {
+                leaderboard.remove(id);
+                ratings.remove(id);
+            } else if (operation == 1) {
+                leaderboard.add(id);
+                ratings.putIfAbsent(id, 0L);
+            } else {
+                long delta = random.nextInt(5) - 2;
+                leaderboard.adjust(id, delta);
+                ratings.merge(id, delta, Long::sum);
+            }
+        }
+
+        List<Long> expected = new ArrayList<>(ratings.keySet());
+        expected.sort(Comparator.<Long>comparingLong(ratings::get).thenComparingLong(id -> id).reversed());
+
+        assertThat(leaderboard.size()).isEqualTo(expected.size());
+        assertThat(leaderboard.page(0, expected.size())).isEqualTo(expected);
+        assertThat(leaderboard.page(10, 10)).isEqualTo(expected.subList(10, 20));
+        for (int rank = 0; rank < expected.size(); rank++) {
+            assertThat(leaderboard.rank(expected.get(rank))).contains(rank + 1L);
+        }
+        assertThat(leaderboard.rank(1_000)).isEmpty();
+    }
+}
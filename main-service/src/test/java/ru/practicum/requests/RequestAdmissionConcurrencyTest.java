@@ -0,0 +1,118 @@
+package ru.practicum.requests;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.category.model.Category;
+import ru.practicum.category.repository.CategoryRepository;
+import ru.practicum.errorHandler.IntegrityViolationException;
+import ru.practicum.event.model.Event;
+import ru.practicum.event.model.Location;
+import ru.practicum.event.model.State;
+import ru.practicum.event.repository.EventRepository;
+import ru.practicum.requests.model.Status;
+import ru.practicum.requests.repository.RequestsRepository;
+import ru.practicum.requests.service.RequestService;
+import ru.practicum.user.model.User;
+import ru.practicum.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class RequestAdmissionConcurrencyTest {
+    private static final long PARTICIPANT_LIMIT = 5;
+    private static final int REQUESTERS = 40;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private RequestService requestService;
+    @Autowired
+    private RequestsRepository requestsRepository;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        requestsRepository.deleteAll();
+        eventRepository.deleteAll();
+        categoryRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentRequestsNeverExceedParticipantLimit() throws Exception {
+        User initiator = userRepository.save(new User(null, "initiator@mail.ru", "initiator", 0L));
+        Category category = categoryRepository.save(new Category(null, "concerts"));
+        Event event = eventRepository.save(publishedEvent(initiator, category));
+        List<User> requesters = new ArrayList<>();
+        for (int i = 0; i < REQUESTERS; i++) {
+            requesters.add(userRepository.save(new User(null, "requester" + i + "@mail.ru", "requester" + i, 0L)));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger admitted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (User requester : requesters) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    requestService.addRequest(requester.getId(), event.getId());
+                    admitted.incrementAndGet();
+                } catch (IntegrityViolationException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertThat(admitted.get()).isEqualTo(PARTICIPANT_LIMIT);
+        assertThat(rejected.get()).isEqualTo(REQUESTERS - PARTICIPANT_LIMIT);
+        assertThat(eventRepository.findById(event.getId()).orElseThrow().getConfirmedRequests())
+                .isEqualTo(PARTICIPANT_LIMIT);
+        assertThat(requestsRepository.findAllByStatusAndEventId(Status.CONFIRMED, event.getId()))
+                .hasSize((int) PARTICIPANT_LIMIT);
+    }
+
+    private Event publishedEvent(User initiator, Category category) {
+        Event event = new Event();
+        event.setAnnotation("annotation");
+        event.setCategory(category);
+        event.setCreatedOn(LocalDateTime.now());
+        event.setDescription("description");
+        event.setEventDate(LocalDateTime.now().plusDays(1));
+        event.setInitiator(initiator);
+        event.setLocation(new Location(null, 55.75f, 37.61f));
+        event.setPaid(false);
+        event.setParticipantLimit(PARTICIPANT_LIMIT);
+        event.setPublishedOn(LocalDateTime.now());
+        event.setRequestModeration(false);
+        event.setState(State.PUBLISHED);
+        event.setTitle("title");
+        event.setConfirmedRequests(0L);
+        event.setRating(0L);
+        event.setViews(0L);
+        return event;
+    }
+}
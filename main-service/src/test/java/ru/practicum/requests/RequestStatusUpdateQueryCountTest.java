@@ -0,0 +1,111 @@
+package ru.practicum.requests;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.category.model.Category;
+import ru.practicum.category.repository.CategoryRepository;
+import ru.practicum.event.model.Event;
+import ru.practicum.event.model.Location;
+import ru.practicum.event.model.State;
+import ru.practicum.event.repository.EventRepository;
+import ru.practicum.event.service.EventService;
+import ru.practicum.requests.dto.EventRequestStatusUpdateRequestDto;
+import ru.practicum.requests.dto.EventRequestStatusUpdateResultDto;
+import ru.practicum.requests.model.Status;
+import ru.practicum.user.model.User;
+import ru.practicum.user.repository.UserRepository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class RequestStatusUpdateQueryCountTest {
+    private static final int REQUESTS = 10_000;
+    private static final long PARTICIPANT_LIMIT = 100;
+    private static final int CONFIRMING = 150;
+
+    @Autowired
+    private EventService eventService;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from requests");
+        jdbcTemplate.update("delete from events");
+        jdbcTemplate.update("delete from categories");
+        jdbcTemplate.update("delete from users");
+    }
+
+    @Test
+    void confirmingBeyondLimitUsesFixedNumberOfStatements() {
+        User initiator = userRepository.save(new User(null, "initiator@mail.ru", "initiator", 0L));
+        Category category = categoryRepository.save(new Category(null, "concerts"));
+        Event event = eventRepository.save(moderatedEvent(initiator, category));
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            users.add(new Object[]{"requester" + i + "@mail.ru", "requester" + i});
+        }
+        jdbcTemplate.batchUpdate("insert into users (email, name, rating) values (?, ?, 0)", users);
+        jdbcTemplate.update("insert into requests (created, event_id, requester_id, status) " +
+                        "select ?, ?, id, ? from users where id <> ?",
+                Timestamp.valueOf(LocalDateTime.now()), event.getId(), Status.PENDING.name(), initiator.getId());
+        List<Long> requestIds = jdbcTemplate.queryForList(
+                "select id from requests order by id limit ?", Long.class, CONFIRMING);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        EventRequestStatusUpdateResultDto result = eventService.updateRequestByEventId(
+                new EventRequestStatusUpdateRequestDto(new HashSet<>(requestIds), Status.CONFIRMED),
+                initiator.getId(), event.getId());
+
+        assertThat(result.getConfirmedRequests()).hasSize((int) PARTICIPANT_LIMIT);
+        assertThat(result.getRejectedRequests()).hasSize(CONFIRMING - (int) PARTICIPANT_LIMIT);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(6);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(eventRepository.findById(event.getId()).orElseThrow().getConfirmedRequests())
+                .isEqualTo(PARTICIPANT_LIMIT);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from requests where status = ?", Long.class,
+                Status.REJECTED.name())).isEqualTo(REQUESTS - PARTICIPANT_LIMIT);
+    }
+
+    private Event moderatedEvent(User initiator, Category category) {
+        Event event = new Event();
+        event.setAnnotation("annotation");
+        event.setCategory(category);
+        event.setCreatedOn(LocalDateTime.now());
+        event.setDescription("description");
+        event.setEventDate(LocalDateTime.now().plusDays(1));
+        event.setInitiator(initiator);
+        event.setLocation(new Location(null, 55.75f, 37.61f));
+        event.setPaid(false);
+        event.setParticipantLimit(PARTICIPANT_LIMIT);
+        event.setPublishedOn(LocalDateTime.now());
+        event.setRequestModeration(true);
+        event.setState(State.PUBLISHED);
+        event.setTitle("title");
+        event.setConfirmedRequests(0L);
+        event.setRating(0L);
+        event.setViews(0L);
+        return event;
+    }
+}
@@ -0,0 +1,56 @@
+package ru.practicum.requests.flash;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FlashEventTest {
+
+    @Test
+    void concurrentAcquiresNeverExceedRemainingSeats() throws Exception {
+        FlashEvent event = new FlashEvent(1, 1, 100, 10, List.of());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger acquired = new AtomicInteger();
+        for (int i = 0; i < 1000; i++) {
+            executor.submit(() -> {
+                start.await();
+                if (event.tryAcquireSeat()) {
+                    acquired.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(acquired.get()).isEqualTo(90);
+        assertThat(event.hasSeats()).isFalse();
+    }
+
+    @Test
+    void resizeKeepsAcquiredSeats() {
+        FlashEvent event = new FlashEvent(1, 1, 5, 0, List.of(7L));
+        assertThat(event.addRequester(7L)).isFalse();
+        for (int i = 0; i < 5; i++) {
+            assertThat(event.tryAcquireSeat()).isTrue();
+        }
+
+        event.resize(3);
+        assertThat(event.tryAcquireSeat()).isFalse();
+        event.releaseSeat();
+        event.releaseSeat();
+        assertThat(event.tryAcquireSeat()).isFalse();
+
+        event.resize(6);
+        assertThat(event.getRemainingSeats()).isEqualTo(3);
+    }
+}
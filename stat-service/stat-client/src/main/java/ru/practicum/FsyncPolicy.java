@@ -0,0 +1,7 @@
+package ru.practicum;
+
+public enum FsyncPolicy {
+    ALWAYS,
+    PERIODIC,
+    NEVER
+}
@@ -0,0 +1,222 @@
+package ru.practicum;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@Slf4j
+public class HitSender implements MeterBinder {
+    private final RestClient restClient;
+    private final HitSpool hitSpool;
+    private final BlockingQueue<EndpointHitDto> queue;
+    private final OverflowPolicy overflowPolicy;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final long replayIntervalMillis;
+    private final AtomicLong droppedHits = new AtomicLong();
+    private final AtomicLong sentHits = new AtomicLong();
+    private final AtomicLong failedHits = new AtomicLong();
+    private final AtomicLong rejectedHits = new AtomicLong();
+    private final Thread worker;
+    private final ScheduledExecutorService replayer;
+    private volatile boolean running = true;
+
+    public HitSender(@Qualifier("statRestClient") RestClient restClient,
+                     HitSpool hitSpool,
+                     @Value("${stat-client.hits.queue-capacity:10000}") int queueCapacity,
+                     @Value("${stat-client.hits.overflow-policy:DROP_OLDEST}") OverflowPolicy overflowPolicy,
+                     @Value("${stat-client.hits.batch-size:100}") int batchSize,
+                     @Value("${stat-client.hits.flush-interval-ms:1000}") long flushIntervalMillis,
+                     @Value("${stat-client.spool.replay-interval-ms:5000}") long replayIntervalMillis) {
+        this.restClient = restClient;
+        this.hitSpool = hitSpool;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.overflowPolicy = overflowPolicy;
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.replayIntervalMillis = replayIntervalMillis;
+        this.worker = new Thread(this::run, "stat-hit-sender");
+        this.worker.setDaemon(true);
+        this.replayer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stat-hit-replayer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        worker.start();
+        replayer.scheduleWithFixedDelay(this::replay, replayIntervalMillis, replayIntervalMillis, TimeUnit.MILLISECONDS);
+        log.info("Отправка вызовов запущена: размер очереди={}, политика переполнения={}, размер пачки={}, интервал={} мс",
+                queue.remainingCapacity(), overflowPolicy, batchSize, flushIntervalMillis);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        replayer.shutdownNow();
+        worker.interrupt();
+        worker.join(flushIntervalMillis);
+        List<EndpointHitDto> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        if (!rest.isEmpty()) {
+            send(rest);
+        }
+        log.info("Отправка вызовов остановлена");
+    }
+
+    public void enqueue(EndpointHitDto endpointHitDto) {
+        switch (overflowPolicy) {
+            case DROP_NEW -> {
+                if (!queue.offer(endpointHitDto)) {
+                    droppedHits.incrementAndGet();
+                }
+            }
+            case DROP_OLDEST -> {
+                while (!queue.offer(endpointHitDto)) {
+                    if (queue.poll() != null) {
+                        droppedHits.incrementAndGet();
+                    }
+                }
+            }
+            case BLOCK -> {
+                try {
+                    queue.put(endpointHitDto);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    droppedHits.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getDroppedHits() {
+        return droppedHits.get();
+    }
+
+    public long getSentHits() {
+        return sentHits.get();
+    }
+
+    public long getFailedHits() {
+        return failedHits.get();
+    }
+
+    public long getRejectedHits() {
+        return rejectedHits.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("stat.client.hits.queue.depth", this, HitSender::getQueueDepth)
+                .register(registry);
+        FunctionCounter.builder("stat.client.hits.dropped", this, HitSender::getDroppedHits)
+                .register(registry);
+        FunctionCounter.builder("stat.client.hits.sent", this, HitSender::getSentHits)
+                .register(registry);
+        FunctionCounter.builder("stat.client.hits.failed", this, HitSender::getFailedHits)
+                .register(registry);
+        FunctionCounter.builder("stat.client.hits.rejected", this, HitSender::getRejectedHits)
+                .register(registry);
+        Gauge.builder("stat.client.hits.spool.bytes", hitSpool, HitSpool::sizeBytes)
+                .register(registry);
+    }
+
+    private void run() {
+        List<EndpointHitDto> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                EndpointHitDto first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    EndpointHitDto next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                send(batch);
+            } catch (InterruptedException e) {
+                if (!batch.isEmpty()) {
+                    send(batch);
+                }
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void send(List<EndpointHitDto> batch) {
+        if (!trySend(batch)) {
+            failedHits.addAndGet(batch.size());
+            hitSpool.append(batch);
+        }
+    }
+
+    private boolean trySend(List<EndpointHitDto> batch) {
+        try {
+            restClient.post()
+                    .uri("/hits")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(batch)
+                    .retrieve()
+                    .toBodilessEntity();
+            sentHits.addAndGet(batch.size());
+            log.debug("Отправлена пачка из {} вызовов", batch.size());
+            return true;
+        } catch (HttpClientErrorException e) {
+            rejectedHits.addAndGet(batch.size());
+            log.error("Сервер статистики отклонил пачку из {} вызовов, пачка отброшена: {}",
+                    batch.size(), e.getStatusCode());
+            return true;
+        } catch (Exception e) {
+            log.error("Отправка пачки из {} вызовов завершилась ошибкой.", batch.size(), e);
+            return false;
+        }
+    }
+
+    private void replay() {
+        try {
+            hitSpool.sync();
+            hitSpool.replay(this::trySend, batchSize);
+        } catch (Exception e) {
+            log.error("Повторная отправка вызовов из буфера на диске завершилась ошибкой.", e);
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package ru.practicum;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+@Component
+@Slf4j
+public class HitSpool {
+    private static final String SEGMENT_PREFIX = "hits-";
+    private static final String SEGMENT_SUFFIX = ".spool";
+    private static final String POSITION_SUFFIX = ".pos";
+    private static final int HEADER_BYTES = Integer.BYTES + Long.BYTES;
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final FsyncPolicy fsyncPolicy;
+    private FileChannel activeChannel;
+    private Path activePath;
+    private long nextSegmentNumber;
+
+    public HitSpool(@Value("${stat-client.spool.dir:stat-spool}") String directory,
+                    @Value("${stat-client.spool.segment-bytes:16777216}") long segmentBytes,
+                    @Value("${stat-client.spool.fsync-policy:PERIODIC}") FsyncPolicy fsyncPolicy) throws IOException {
+        this.directory = Path.of(directory);
+        this.segmentBytes = segmentBytes;
+        this.fsyncPolicy = fsyncPolicy;
+        Files.createDirectories(this.directory);
+        this.nextSegmentNumber = listSegments().stream()
+                .mapToLong(this::segmentNumber)
+                .max()
+                .orElse(0) + 1;
+        log.info("Буфер вызовов на диске: {}, сегментов к повторной отправке: {}",
+                this.directory.toAbsolutePath(), listSegments().size());
+    }
+
+    public synchronized void append(List<EndpointHitDto> hits) {
+        try {
+            if (activeChannel == null) {
+                openSegment();
+            }
+            ByteBuffer buffer = encode(hits);
+            while (buffer.hasRemaining()) {
+                activeChannel.write(buffer);
+            }
+            if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+                activeChannel.force(false);
+            }
+            if (activeChannel.size() >= segmentBytes) {
+                closeSegment();
+            }
+            log.info("В буфер на диске записано {} вызовов", hits.size());
+        } catch (IOException e) {
+            log.error("Не удалось записать {} вызовов в буфер на диске, вызовы потеряны.", hits.size(), e);
+        }
+    }
+
+    public synchronized void sync() {
+        if (activeChannel == null || fsyncPolicy != FsyncPolicy.PERIODIC) {
+            return;
+        }
+        try {
+            activeChannel.force(false);
+        } catch (IOException e) {
+            log.error("Не удалось сбросить буфер вызовов на диск.", e);
+        }
+    }
+
+    public synchronized long sizeBytes() {
+        return listSegments().stream()
+                .mapToLong(this::fileSize)
+                .sum();
+    }
+
+    public boolean replay(Predicate<List<EndpointHitDto>> sender, int batchSize) {
+        for (Path segment : listSegments()) {
+            if (!replaySegment(segment, sender, batchSize)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (activeChannel != null) {
+            activeChannel.force(false);
+            activeChannel.close();
+            activeChannel = null;
+        }
+    }
+
+    private synchronized long activeSize(Path segment) throws IOException {
+        return segment.equals(activePath) ? activeChannel.size() : -1;
+    }
+
+    private boolean replaySegment(Path segment, Predicate<List<EndpointHitDto>> sender, int batchSize) {
+        Path positionPath = positionPath(segment);
+        boolean active;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            long activeSize = activeSize(segment);
+            active = activeSize >= 0;
+            long size = active ? activeSize : channel.size();
+            long position = readPosition(positionPath);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            buffer.position((int) Math.min(position, size));
+            List<EndpointHitDto> batch = new ArrayList<>(batchSize);
+            while (true) {
+                Optional<EndpointHitDto> record = decode(buffer);
+                if (record.isPresent()) {
+                    batch.add(record.get());
+                }
+                if (batch.size() == batchSize || (record.isEmpty() && !batch.isEmpty())) {
+                    if (!sender.test(batch)) {
+                        return false;
+                    }
+                    batch.clear();
+                    writePosition(positionPath, buffer.position());
+                }
+                if (record.isEmpty()) {
+                    break;
+                }
+            }
+            if (buffer.hasRemaining()) {
+                log.warn("Сегмент {} повреждён после позиции {}, остаток пропущен", segment, buffer.position());
+            }
+        } catch (NoSuchFileException e) {
+            return true;
+        } catch (IOException e) {
+            log.error("Не удалось прочитать сегмент {} буфера вызовов.", segment, e);
+            return false;
+        }
+        if (!active) {
+            deleteSegment(segment, positionPath);
+            log.info("Сегмент {} буфера вызовов отправлен повторно", segment.getFileName());
+        }
+        return true;
+    }
+
+    private void openSegment() throws IOException {
+        activePath = directory.resolve(SEGMENT_PREFIX + String.format("%019d", nextSegmentNumber++) + SEGMENT_SUFFIX);
+        activeChannel = FileChannel.open(activePath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+
+    private void closeSegment() throws IOException {
+        activeChannel.force(false);
+        activeChannel.close();
+        activeChannel = null;
+        activePath = null;
+    }
+
+    private ByteBuffer encode(List<EndpointHitDto> hits) {
+        List<byte[]> payloads = new ArrayList<>(hits.size());
+        int total = 0;
+        for (EndpointHitDto hit : hits) {
+            byte[] app = hit.getApp().getBytes(StandardCharsets.UTF_8);
+            byte[] uri = hit.getUri().getBytes(StandardCharsets.UTF_8);
+            byte[] ip = hit.getIp().getBytes(StandardCharsets.UTF_8);
+            ByteBuffer payload = ByteBuffer.allocate(3 * Short.BYTES + app.length + uri.length + ip.length + Long.BYTES);
+            payload.putShort((short) app.length).put(app);
+            payload.putShort((short) uri.length).put(uri);
+            payload.putShort((short) ip.length).put(ip);
+            payload.putLong(hit.getTimestamp().toEpochSecond(ZoneOffset.UTC));
+            payloads.add(payload.array());
+            total += HEADER_BYTES + payload.capacity();
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(total);
+        for (byte[] payload : payloads) {
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            buffer.putInt(payload.length).putLong(crc.getValue()).put(payload);
+        }
+        return buffer.flip();
+    }
+
+    private Optional<EndpointHitDto> decode(ByteBuffer buffer) {
+        if (buffer.remaining() < HEADER_BYTES) {
+            return Optional.empty();
+        }
+        int start = buffer.position();
+        int length = buffer.getInt();
+        long checksum = buffer.getLong();
+        if (length <= 0 || buffer.remaining() < length) {
+            buffer.position(start);
+            return Optional.empty();
+        }
+        byte[] payload = new byte[length];
+        buffer.get(payload);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        if (crc.getValue() != checksum) {
+            buffer.position(start);
+            return Optional.empty();
+        }
+        try {
+            ByteBuffer record = ByteBuffer.wrap(payload);
+            return Optional.of(EndpointHitDto.builder()
+                    .app(readString(record))
+                    .uri(readString(record))
+                    .ip(readString(record))
+                    .timestamp(LocalDateTime.ofEpochSecond(record.getLong(), 0, ZoneOffset.UTC))
+                    .build());
+        } catch (BufferUnderflowException e) {
+            buffer.position(start);
+            return Optional.empty();
+        }
+    }
+
+    private String readString(ByteBuffer record) {
+        byte[] bytes = new byte[Short.toUnsignedInt(record.getShort())];
+        record.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private List<Path> listSegments() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long segmentNumber(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private Path positionPath(Path segment) {
+        return segment.resolveSibling(segment.getFileName() + POSITION_SUFFIX);
+    }
+
+    private long readPosition(Path positionPath) throws IOException {
+        if (!Files.exists(positionPath)) {
+            return 0;
+        }
+        return Long.parseLong(Files.readString(positionPath).trim());
+    }
+
+    private void writePosition(Path positionPath, long position) throws IOException {
+        Files.writeString(positionPath, Long.toString(position));
+    }
+
+    private void deleteSegment(Path segment, Path positionPath) {
+        try {
+            Files.deleteIfExists(segment);
+            Files.deleteIfExists(positionPath);
+        } catch (IOException e) {
+            log.error("Не удалось удалить сегмент {} буфера вызовов.", segment, e);
+        }
+    }
+
+    private long fileSize(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
@@ -1,70 +1,93 @@
 package ru.practicum;
 
 import jakarta.servlet.http.HttpServletRequest;
-import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.HttpStatusCode;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClient;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 @Component
 @Slf4j
 public class StatClient {
 
     private final RestClient restClient;
+    private final HitSender hitSender;
+    private final StatsCoalescer statsCoalescer;
+    private final StatsCircuitBreaker circuitBreaker;
 
-    public StatClient(@Value("${stat-server.url}") String serverUrl) {
-        this.restClient = RestClient.create(serverUrl);
+    public StatClient(@Value("${stat-server.url}") String serverUrl,
+                      @Qualifier("statRestClient") RestClient restClient,
+                      HitSender hitSender,
+                      StatsCircuitBreaker circuitBreaker,
+                      @Value("${stat-client.stats.coalesce-window-ms:5}") long coalesceWindowMillis) {
+        this.restClient = restClient;
+        this.hitSender = hitSender;
+        this.circuitBreaker = circuitBreaker;
+        this.statsCoalescer = new StatsCoalescer(this::loadStats, coalesceWindowMillis);
         log.info("URL запуска сервера статистики: {}", serverUrl);
     }
 
-    @SneakyThrows
     public void saveHit(String app, HttpServletRequest request) {
         log.info("Сохранение вызова для приложения: {}", app);
-        EndpointHitDto endpointHitDto = toDto(app, request);
-        ResponseEntity<Void> response = restClient.post()
-                .uri("/hit")
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(endpointHitDto)
-                .retrieve()
-                .toBodilessEntity();
-        if (response.getStatusCode().is2xxSuccessful()) {
-            log.info("Отправлен вызов url с кодом: {}", response.getStatusCode());
-        } else {
-            log.error("Отправлен вызов url с кодом ошибки: {}", response.getStatusCode());
-        }
-        Thread.sleep(500);
+        hitSender.enqueue(toDto(app, request));
     }
 
     public List<StatsViewDto> getStats(LocalDateTime start, LocalDateTime end,
                                        List<String> uris, boolean unique) {
+        return tryGetStats(start, end, uris, unique).orElse(Collections.emptyList());
+    }
+
+    public Optional<List<StatsViewDto>> tryGetStats(LocalDateTime start, LocalDateTime end,
+                                                    List<String> uris, boolean unique) {
+        return tryGetStats(start, end, uris, unique, false);
+    }
+
+    public Optional<List<StatsViewDto>> tryGetStats(LocalDateTime start, LocalDateTime end,
+                                                    List<String> uris, boolean unique, boolean approximate) {
         log.info("Получение статистики для urls: {}", uris);
+        return statsCoalescer.get(start.format(DateFormat.FORMATTER), end.format(DateFormat.FORMATTER), uris, unique,
+                approximate);
+    }
+
+    private Optional<List<StatsViewDto>> loadStats(StatsCoalescer.StatsQuery query) {
+        List<String> uris = query.uris();
+        if (!circuitBreaker.tryAcquire()) {
+            log.debug("Запрос статистики для {} urls пропущен: сервер статистики недоступен", uris.size());
+            return Optional.empty();
+        }
+        log.debug("Запрос статистики к серверу для {} urls", uris.size());
+        long started = System.nanoTime();
         try {
-            return restClient.get()
+            Optional<List<StatsViewDto>> stats = Optional.ofNullable(restClient.get()
                     .uri(uriBuilder ->
                             uriBuilder.path("/stats")
-                                    .queryParam("start", start.format(DateFormat.FORMATTER))
-                                    .queryParam("end", end.format(DateFormat.FORMATTER))
+                                    .queryParam("start", query.start())
+                                    .queryParam("end", query.end())
                                     .queryParam("uris", uris)
-                                    .queryParam("unique", unique)
+                                    .queryParam("unique", query.unique())
+                                    .queryParam("approximate", query.approximate())
                                     .build())
                     .retrieve()
-                    .onStatus(HttpStatusCode::is4xxClientError,
-                            (request, response) ->
-                                    log.error("Получение статистики для {} с кодом ошибки {}", uris, response.getStatusCode()))
-                    .body(new ParameterizedTypeReference<>() {
-                    });
+                    .body(new ParameterizedTypeReference<List<StatsViewDto>>() {
+                    }));
+            circuitBreaker.onSuccess(System.nanoTime() - started);
+            return stats;
+        } catch (HttpClientErrorException e) {
+            circuitBreaker.onSuccess(System.nanoTime() - started);
+            log.error("Получение статистики для {} с кодом ошибки {}", uris, e.getStatusCode());
+            return Optional.empty();
         } catch (Exception e) {
+            circuitBreaker.onFailure(System.nanoTime() - started);
             log.error("Получение статистики для {} завершилось ошибкой.", uris, e);
-            return Collections.emptyList();
+            return Optional.empty();
         }
     }
 
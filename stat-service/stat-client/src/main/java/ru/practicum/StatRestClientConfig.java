@@ -0,0 +1,29 @@
+package ru.practicum;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+@Configuration
+public class StatRestClientConfig {
+    @Bean
+    public RestClient statRestClient(@Value("${stat-server.url}") String serverUrl,
+                                     @Value("${stat-client.stats.connect-timeout-ms:1000}") long connectTimeoutMillis,
+                                     @Value("${stat-client.stats.read-timeout-ms:2000}") long readTimeoutMillis) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMillis));
+        return RestClient.builder()
+                .baseUrl(serverUrl)
+                .requestFactory(requestFactory)
+                .build();
+    }
+}
@@ -0,0 +1,121 @@
+package ru.practicum;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@Slf4j
+public class StatsCircuitBreaker implements MeterBinder, HealthIndicator {
+    private final int failureThreshold;
+    private final long openNanos;
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong callNanos = new AtomicLong();
+    private final AtomicLong failedCalls = new AtomicLong();
+    private final AtomicLong rejectedCalls = new AtomicLong();
+    private CircuitState state = CircuitState.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+
+    public StatsCircuitBreaker(@Value("${stat-client.stats.circuit.failure-threshold:5}") int failureThreshold,
+                               @Value("${stat-client.stats.circuit.open-ms:10000}") long openMillis) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (state == CircuitState.CLOSED) {
+            return true;
+        }
+        if (state == CircuitState.OPEN && System.nanoTime() - openedAt >= openNanos) {
+            state = CircuitState.HALF_OPEN;
+            log.info("Пробный запрос статистики после размыкания");
+            return true;
+        }
+        rejectedCalls.incrementAndGet();
+        return false;
+    }
+
+    public synchronized void onSuccess(long nanos) {
+        record(nanos);
+        consecutiveFailures = 0;
+        if (state != CircuitState.CLOSED) {
+            state = CircuitState.CLOSED;
+            log.info("Сервер статистики снова доступен, запросы возобновлены");
+        }
+    }
+
+    public synchronized void onFailure(long nanos) {
+        record(nanos);
+        failedCalls.incrementAndGet();
+        consecutiveFailures++;
+        if (state == CircuitState.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            if (state != CircuitState.OPEN) {
+                log.warn("Сервер статистики недоступен, запросы приостановлены на {} мс",
+                        TimeUnit.NANOSECONDS.toMillis(openNanos));
+            }
+            state = CircuitState.OPEN;
+            openedAt = System.nanoTime();
+        }
+    }
+
+    public synchronized CircuitState getState() {
+        return state;
+    }
+
+    public long getCalls() {
+        return calls.get();
+    }
+
+    public double getCallNanos() {
+        return callNanos.get();
+    }
+
+    public long getFailedCalls() {
+        return failedCalls.get();
+    }
+
+    public long getRejectedCalls() {
+        return rejectedCalls.get();
+    }
+
+    @Override
+    public Health health() {
+        CircuitState current = getState();
+        Health.Builder builder = current == CircuitState.OPEN ? Health.outOfService() : Health.up();
+        return builder
+                .withDetail("state", current)
+                .withDetail("failedCalls", getFailedCalls())
+                .withDetail("rejectedCalls", getRejectedCalls())
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("stat.client.stats.circuit.state", this, breaker -> breaker.getState().ordinal())
+                .description("0 - CLOSED, 1 - OPEN, 2 - HALF_OPEN")
+                .register(registry);
+        FunctionTimer.builder("stat.client.stats.latency", this, StatsCircuitBreaker::getCalls,
+                        StatsCircuitBreaker::getCallNanos, TimeUnit.NANOSECONDS)
+                .register(registry);
+        FunctionCounter.builder("stat.client.stats.failed", this, StatsCircuitBreaker::getFailedCalls)
+                .register(registry);
+        FunctionCounter.builder("stat.client.stats.rejected", this, StatsCircuitBreaker::getRejectedCalls)
+                .register(registry);
+    }
+
+    private void record(long nanos) {
+        calls.incrementAndGet();
+        callNanos.addAndGet(nanos);
+    }
+}
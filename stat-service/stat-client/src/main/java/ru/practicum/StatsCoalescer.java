@@ -0,0 +1,112 @@
+package ru.practicum;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+public class StatsCoalescer {
+    private final Function<StatsQuery, Optional<List<StatsViewDto>>> loader;
+    private final long windowNanos;
+    private final Map<StatsQuery, Batch> collecting = new HashMap<>();
+    private final Map<StatsQuery, List<Batch>> inFlight = new HashMap<>();
+
+    public StatsCoalescer(Function<StatsQuery, Optional<List<StatsViewDto>>> loader, long windowMillis) {
+        this.loader = loader;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+    }
+
+    public Optional<List<StatsViewDto>> get(String start, String end, List<String> uris, boolean unique,
+                                            boolean approximate) {
+        StatsQuery key = new StatsQuery(start, end, null, unique, approximate);
+        Set<String> wanted = uris == null || uris.isEmpty() ? null : new HashSet<>(uris);
+        Batch batch;
+        boolean leader = false;
+        synchronized (this) {
+            batch = findInFlight(key, wanted);
+            if (batch == null) {
+                batch = collecting.get(key);
+                if (batch == null) {
+                    batch = new Batch();
+                    collecting.put(key, batch);
+                    leader = true;
+                }
+                batch.add(wanted);
+            }
+        }
+        if (leader) {
+            dispatch(key, batch);
+        }
+        return batch.result.join().map(stats -> slice(stats, wanted));
+    }
+
+    private Batch findInFlight(StatsQuery key, Set<String> wanted) {
+        for (Batch batch : inFlight.getOrDefault(key, List.of())) {
+            if (batch.covers(wanted)) {
+                return batch;
+            }
+        }
+        return null;
+    }
+
+    private void dispatch(StatsQuery key, Batch batch) {
+        if (windowNanos > 0) {
+            LockSupport.parkNanos(windowNanos);
+        }
+        synchronized (this) {
+            collecting.remove(key);
+            inFlight.computeIfAbsent(key, query -> new ArrayList<>()).add(batch);
+        }
+        try {
+            List<String> uris = batch.uris == null ? List.of() : List.copyOf(batch.uris);
+            batch.result.complete(loader.apply(new StatsQuery(key.start(), key.end(), uris, key.unique(), key.approximate())));
+        } catch (RuntimeException e) {
+            batch.result.complete(Optional.empty());
+            throw e;
+        } finally {
+            synchronized (this) {
+                List<Batch> batches = inFlight.get(key);
+                batches.remove(batch);
+                if (batches.isEmpty()) {
+                    inFlight.remove(key);
+                }
+            }
+        }
+    }
+
+    private List<StatsViewDto> slice(List<StatsViewDto> stats, Set<String> wanted) {
+        if (wanted == null) {
+            return stats;
+        }
+        return stats.stream()
+                .filter(viewStats -> wanted.contains(viewStats.getUri()))
+                .toList();
+    }
+
+    public record StatsQuery(String start, String end, List<String> uris, boolean unique, boolean approximate) {
+    }
+
+    private static final class Batch {
+        private final CompletableFuture<Optional<List<StatsViewDto>>> result = new CompletableFuture<>();
+        private Set<String> uris = new HashSet<>();
+
+        private void add(Set<String> wanted) {
+            if (wanted == null) {
+                uris = null;
+            } else if (uris != null) {
+                uris.addAll(wanted);
+            }
+        }
+
+        private boolean covers(Set<String> wanted) {
+            return uris == null || (wanted != null && uris.containsAll(wanted));
+        }
+    }
+}
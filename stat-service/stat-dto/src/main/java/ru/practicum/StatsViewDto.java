@@ -1,5 +1,6 @@
 package ru.practicum;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -18,4 +19,6 @@ public class StatsViewDto {
     String uri;
     @NotNull
     Long hits;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    Double relativeError;
 }
@@ -0,0 +1,17 @@
+package ru.practicum;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TopViewDto {
+    String app;
+    String uri;
+    Long hits;
+    Long maxError;
+}
@@ -0,0 +1,27 @@
+package ru.practicum.database;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+public class DatabaseDialect {
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean postgreSql;
+
+    public DatabaseDialect(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public boolean isPostgreSql() {
+        if (postgreSql == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            postgreSql = "PostgreSQL".equals(product);
+            log.info("База данных статистики: {}", product);
+        }
+        return postgreSql;
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.dictionary.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table(name = "apps")
+@Getter
+@Setter
+@NoArgsConstructor
+public class App {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @NotBlank
+    @Column
+    private String name;
+}
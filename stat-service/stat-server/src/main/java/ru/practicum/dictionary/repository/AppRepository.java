@@ -0,0 +1,10 @@
+package ru.practicum.dictionary.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import ru.practicum.dictionary.model.App;
+
+import java.util.Optional;
+
+public interface AppRepository extends JpaRepository<App, Integer> {
+    Optional<App> findByName(String name);
+}
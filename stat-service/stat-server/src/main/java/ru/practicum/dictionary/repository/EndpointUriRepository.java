@@ -0,0 +1,14 @@
+package ru.practicum.dictionary.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import ru.practicum.dictionary.model.EndpointUri;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface EndpointUriRepository extends JpaRepository<EndpointUri, Integer> {
+    Optional<EndpointUri> findByUri(String uri);
+
+    List<EndpointUri> findAllByUriIn(Collection<String> uris);
+}
@@ -0,0 +1,156 @@
+package ru.practicum.dictionary.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.mapstruct.Named;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.dictionary.model.App;
+import ru.practicum.dictionary.model.EndpointUri;
+import ru.practicum.dictionary.repository.AppRepository;
+import ru.practicum.dictionary.repository.EndpointUriRepository;
+import ru.practicum.endpointhit.model.HitCount;
+import ru.practicum.statsview.model.StatsView;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@Slf4j
+public class HitDictionary {
+    private final AppRepository appRepository;
+    private final EndpointUriRepository endpointUriRepository;
+    private final TransactionTemplate requiresNew;
+    private final Map<String, Integer> appIds = new ConcurrentHashMap<>();
+    private final Map<Integer, String> appNames = new ConcurrentHashMap<>();
+    private final Map<String, Integer> uriIds = new ConcurrentHashMap<>();
+    private final Map<Integer, String> uris = new ConcurrentHashMap<>();
+
+    public HitDictionary(AppRepository appRepository,
+                         EndpointUriRepository endpointUriRepository,
+                         PlatformTransactionManager transactionManager) {
+        this.appRepository = appRepository;
+        this.endpointUriRepository = endpointUriRepository;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Named("appId")
+    public Integer appId(String name) {
+        Integer id = appIds.get(name);
+        if (id != null) {
+            return id;
+        }
+        App app = appRepository.findByName(name).orElseGet(() -> insertApp(name));
+        cacheApp(app);
+        return app.getId();
+    }
+
+    @Named("uriId")
+    public Integer uriId(String uri) {
+        Integer id = uriIds.get(uri);
+        if (id != null) {
+            return id;
+        }
+        EndpointUri endpointUri = endpointUriRepository.findByUri(uri).orElseGet(() -> insertUri(uri));
+        cacheUri(endpointUri);
+        return endpointUri.getId();
+    }
+
+    @Named("appName")
+    public String appName(Integer id) {
+        String name = appNames.get(id);
+        if (name != null) {
+            return name;
+        }
+        App app = appRepository.findById(id)
+                .orElseThrow(() -> new IllegalStateException(String.format("Приложение с id=%d не найдено", id)));
+        cacheApp(app);
+        return app.getName();
+    }
+
+    @Named("uri")
+    public String uri(Integer id) {
+        String uri = uris.get(id);
+        if (uri != null) {
+            return uri;
+        }
+        EndpointUri endpointUri = endpointUriRepository.findById(id)
+                .orElseThrow(() -> new IllegalStateException(String.format("Адрес с id=%d не найден", id)));
+        cacheUri(endpointUri);
+        return endpointUri.getUri();
+    }
+
+    public List<Integer> findUriIds(List<String> requestedUris) {
+        List<Integer> ids = new ArrayList<>(requestedUris.size());
+        List<String> missing = new ArrayList<>();
+        for (String uri : requestedUris) {
+            Integer id = uriIds.get(uri);
+            if (id != null) {
+                ids.add(id);
+            } else {
+                missing.add(uri);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (EndpointUri endpointUri : endpointUriRepository.findAllByUriIn(missing)) {
+                cacheUri(endpointUri);
+                ids.add(endpointUri.getId());
+            }
+        }
+        return ids;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        appRepository.findAll().forEach(this::cacheApp);
+        endpointUriRepository.findAll().forEach(this::cacheUri);
+        log.info("Загружен справочник: приложений {}, адресов {}", appIds.size(), uriIds.size());
+    }
+
+    public StatsView toStatsView(HitCount hitCount) {
+        return new StatsView(appName(hitCount.getAppId()), uri(hitCount.getUriId()), hitCount.getHits());
+    }
+
+    private App insertApp(String name) {
+        try {
+            return requiresNew.execute(status -> {
+                App app = new App();
+                app.setName(name);
+                return appRepository.save(app);
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Приложение {} уже добавлено параллельно", name);
+            return appRepository.findByName(name).orElseThrow(() -> e);
+        }
+    }
+
+    private EndpointUri insertUri(String uri) {
+        try {
+            return requiresNew.execute(status -> {
+                EndpointUri endpointUri = new EndpointUri();
+                endpointUri.setUri(uri);
+                return endpointUriRepository.save(endpointUri);
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Адрес {} уже добавлен параллельно", uri);
+            return endpointUriRepository.findByUri(uri).orElseThrow(() -> e);
+        }
+    }
+
+    private void cacheApp(App app) {
+        appIds.put(app.getName(), app.getId());
+        appNames.put(app.getId(), app.getName());
+    }
+
+    private void cacheUri(EndpointUri endpointUri) {
+        uriIds.put(endpointUri.getUri(), endpointUri.getId());
+        uris.put(endpointUri.getId(), endpointUri.getUri());
+    }
+}
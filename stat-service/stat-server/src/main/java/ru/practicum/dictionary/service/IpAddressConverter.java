@@ -0,0 +1,35 @@
+package ru.practicum.dictionary.service;
+
+import org.mapstruct.Named;
+import org.springframework.stereotype.Component;
+import ru.practicum.exception.InvalidIpAddressException;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.regex.Pattern;
+
+@Component
+public class IpAddressConverter {
+    private static final Pattern IP_LITERAL = Pattern.compile("[0-9.]+|[0-9a-fA-F:.]*:[0-9a-fA-F:.%\\w]*");
+
+    @Named("ipToBytes")
+    public byte[] toBytes(String ip) {
+        if (ip == null || !IP_LITERAL.matcher(ip).matches()) {
+            throw new InvalidIpAddressException(String.format("Некорректный IP-адрес: %s", ip));
+        }
+        try {
+            return InetAddress.getByName(ip).getAddress();
+        } catch (UnknownHostException e) {
+            throw new InvalidIpAddressException(String.format("Некорректный IP-адрес: %s", ip), e);
+        }
+    }
+
+    @Named("ipToString")
+    public String toString(byte[] ip) {
+        try {
+            return InetAddress.getByAddress(ip).getHostAddress();
+        } catch (UnknownHostException e) {
+            throw new IllegalStateException("Некорректный IP-адрес в хранилище", e);
+        }
+    }
+}
@@ -1,26 +1,49 @@
 package ru.practicum.endpointhit.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.EndpointHitDto;
 import ru.practicum.StatsViewDto;
 import ru.practicum.endpointhit.mapper.EndpointHitMapper;
+import ru.practicum.endpointhit.model.EndpointHit;
 import ru.practicum.endpointhit.service.EndpointHitService;
+import ru.practicum.exception.HitStreamException;
+import ru.practicum.exception.InvalidIpAddressException;
 import ru.practicum.statsview.mapper.StatsViewMapper;
 import ru.practicum.statsview.model.StatsView;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 @Slf4j
 @RestController
 @RequiredArgsConstructor
 public class EndpointHitController {
+    public static final String ACCEPTED_HITS_HEADER = "X-Accepted-Hits";
+
     private final EndpointHitService endpointHitService;
     private final EndpointHitMapper endpointHitMapper;
     private final StatsViewMapper viewStatsMapper;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Value("${stat-server.hits.batch-size:100}")
+    private int batchSize;
 
     @ResponseStatus(HttpStatus.CREATED)
     @PostMapping("hit")
@@ -29,13 +52,55 @@ public class EndpointHitController {
         endpointHitService.save(endpointHitMapper.endpointHitDtoToEndpointHit(endpointHitDto));
     }
 
+    @ResponseStatus(HttpStatus.CREATED)
+    @PostMapping(value = "hits", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public void saveAll(@RequestBody List<@Valid EndpointHitDto> endpointHitDtos, HttpServletResponse response) {
+        log.info("Получен запрос на сохранение {} записей статистики", endpointHitDtos.size());
+        List<EndpointHit> endpointHits = endpointHitMapper.listEndpointHitDtoToListEndpointHit(endpointHitDtos);
+        for (int from = 0; from < endpointHits.size(); from += batchSize) {
+            endpointHitService.saveAll(endpointHits.subList(from, Math.min(from + batchSize, endpointHits.size())));
+        }
+        response.setHeader(ACCEPTED_HITS_HEADER, String.valueOf(endpointHits.size()));
+    }
+
+    @ResponseStatus(HttpStatus.CREATED)
+    @PostMapping(value = "hits", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public void saveAllNdjson(InputStream body, HttpServletResponse response) throws IOException {
+        log.info("Получен потоковый запрос на сохранение записей статистики");
+        List<EndpointHit> batch = new ArrayList<>(batchSize);
+        long accepted = 0;
+        try (MappingIterator<EndpointHitDto> iterator = objectMapper.readerFor(EndpointHitDto.class).readValues(body)) {
+            while (iterator.hasNextValue()) {
+                EndpointHitDto endpointHitDto = iterator.nextValue();
+                Set<ConstraintViolation<EndpointHitDto>> violations = validator.validate(endpointHitDto);
+                if (!violations.isEmpty()) {
+                    throw new ConstraintViolationException(violations);
+                }
+                batch.add(endpointHitMapper.endpointHitDtoToEndpointHit(endpointHitDto));
+                if (batch.size() == batchSize) {
+                    endpointHitService.saveAll(batch);
+                    accepted += batch.size();
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+        } catch (JsonProcessingException | ConstraintViolationException | InvalidIpAddressException e) {
+            throw new HitStreamException(accepted, accepted + batch.size() + 1, e);
+        }
+        if (!batch.isEmpty()) {
+            endpointHitService.saveAll(batch);
+            accepted += batch.size();
+        }
+        response.setHeader(ACCEPTED_HITS_HEADER, String.valueOf(accepted));
+    }
+
     @GetMapping("stats")
     public List<StatsViewDto> findByParams(@RequestParam String start,
                                            @RequestParam String end,
                                            @RequestParam(required = false) List<String> uris,
-                                           @RequestParam(required = false) boolean unique) {
-        log.info("Получен запрос на получение статистики с параметрами start={}, end={}, uris={}, unique={}", start, end, uris, unique);
-        List<StatsView> viewStats = endpointHitService.findByParams(start, end, uris, unique);
+                                           @RequestParam(required = false) boolean unique,
+                                           @RequestParam(required = false) boolean approximate) {
+        log.info("Получен запрос на получение статистики с параметрами start={}, end={}, uris={}, unique={}, approximate={}", start, end, uris, unique, approximate);
+        List<StatsView> viewStats = endpointHitService.findByParams(start, end, uris, unique, approximate);
         return viewStatsMapper.listViewStatsToListViewStatsDto(viewStats);
     }
 }
@@ -1,12 +1,26 @@
 package ru.practicum.endpointhit.mapper;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import ru.practicum.EndpointHitDto;
+import ru.practicum.dictionary.service.HitDictionary;
+import ru.practicum.dictionary.service.IpAddressConverter;
 import ru.practicum.endpointhit.model.EndpointHit;
 
-@Mapper(componentModel = "spring")
+import java.util.List;
+
+@Mapper(componentModel = "spring", uses = {HitDictionary.class, IpAddressConverter.class})
 public interface EndpointHitMapper {
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "appId", source = "app", qualifiedByName = "appId")
+    @Mapping(target = "uriId", source = "uri", qualifiedByName = "uriId")
+    @Mapping(target = "ip", source = "ip", qualifiedByName = "ipToBytes")
     EndpointHit endpointHitDtoToEndpointHit(EndpointHitDto endpointHitDto);
 
+    @Mapping(target = "app", source = "appId", qualifiedByName = "appName")
+    @Mapping(target = "uri", source = "uriId", qualifiedByName = "uri")
+    @Mapping(target = "ip", source = "ip", qualifiedByName = "ipToString")
     EndpointHitDto endpointHitToEndpointHitDto(EndpointHit endpointHit);
+
+    List<EndpointHit> listEndpointHitDtoToListEndpointHit(List<EndpointHitDto> endpointHitDtos);
 }
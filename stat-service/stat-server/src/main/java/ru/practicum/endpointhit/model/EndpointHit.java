@@ -1,7 +1,6 @@
 package ru.practicum.endpointhit.model;
 
 import jakarta.persistence.*;
-import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -16,22 +15,23 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 public class EndpointHit {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "statistics_seq")
+    @SequenceGenerator(name = "statistics_seq", sequenceName = "statistics_seq", allocationSize = 50)
     private Long id;
 
-    @NotBlank
+    @NotNull
     @Column
-    private String app;
+    private Integer appId;
 
-    @NotBlank
+    @NotNull
     @Column
-    private String uri;
+    private Integer uriId;
 
-    @NotBlank
+    @NotNull
     @Column
-    private String ip;
+    private byte[] ip;
 
     @NotNull
     @Column
     private LocalDateTime timestamp;
-}
\ No newline at end of file
+}
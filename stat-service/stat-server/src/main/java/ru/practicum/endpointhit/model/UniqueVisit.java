@@ -0,0 +1,12 @@
+package ru.practicum.endpointhit.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class UniqueVisit {
+    private Integer appId;
+    private Integer uriId;
+    private byte[] ip;
+}
@@ -1,35 +1,92 @@
 package ru.practicum.endpointhit.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.endpointhit.model.EndpointHit;
-import ru.practicum.statsview.model.StatsView;
+import ru.practicum.endpointhit.model.HitCount;
+import ru.practicum.endpointhit.model.UniqueVisit;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 public interface EndpointHitRepository extends JpaRepository<EndpointHit, Long> {
 
-    @Query("select new ru.practicum.statsview.model.StatsView(eh.app, eh.uri, count(distinct eh.ip)) " +
+    List<EndpointHit> findByIdGreaterThanOrderById(Long id, Pageable pageable);
+
+    @Query("select new ru.practicum.endpointhit.model.HitCount(eh.appId, eh.uriId, count(distinct eh.ip)) " +
+            "from EndpointHit as eh " +
+            "where eh.timestamp > :start and eh.timestamp < :end and eh.uriId in (:uriIds) " +
+            "group by eh.appId, eh.uriId " +
+            "order by count(distinct eh.ip) desc")
+    List<HitCount> findViewStatsByStartAndEndAndUriAndUniqueIp(@Param("start") LocalDateTime start,
+                                                               @Param("end") LocalDateTime end,
+                                                               @Param("uriIds") List<Integer> uriIds);
+
+    @Query("select new ru.practicum.endpointhit.model.HitCount(eh.appId, eh.uriId, count(eh.ip)) " +
+            "from EndpointHit as eh " +
+            "where eh.timestamp > :start and eh.timestamp < :end and eh.uriId in (:uriIds) " +
+            "group by eh.appId, eh.uriId " +
+            "order by count(eh.ip) desc")
+    List<HitCount> findViewStatsByStartAndEndAndUri(@Param("start") LocalDateTime start,
+                                                    @Param("end") LocalDateTime end,
+                                                    @Param("uriIds") List<Integer> uriIds);
+
+    @Query("select new ru.practicum.endpointhit.model.HitCount(eh.appId, eh.uriId, count(eh.ip)) " +
+            "from EndpointHit as eh " +
+            "where eh.timestamp >= :start and eh.timestamp < :end and eh.uriId in (:uriIds) " +
+            "group by eh.appId, eh.uriId")
+    List<HitCount> findViewStatsByStartInclusiveAndEndAndUri(@Param("start") LocalDateTime start,
+                                                             @Param("end") LocalDateTime end,
+                                                             @Param("uriIds") List<Integer> uriIds);
+
+    @Query("select distinct new ru.practicum.endpointhit.model.UniqueVisit(eh.appId, eh.uriId, eh.ip) " +
             "from EndpointHit as eh " +
-            "where eh.timestamp > :start and eh.timestamp < :end and eh.uri in (:uri) " +
-            "group by eh.app, eh.uri " +
+            "where eh.timestamp > :start and eh.timestamp < :end and eh.uriId in (:uriIds)")
+    List<UniqueVisit> findUniqueVisitsByStartAndEndAndUri(@Param("start") LocalDateTime start,
+                                                          @Param("end") LocalDateTime end,
+                                                          @Param("uriIds") List<Integer> uriIds);
+
+    @Query("select distinct new ru.practicum.endpointhit.model.UniqueVisit(eh.appId, eh.uriId, eh.ip) " +
+            "from EndpointHit as eh " +
+            "where eh.timestamp >= :start and eh.timestamp < :end and eh.uriId in (:uriIds)")
+    List<UniqueVisit> findUniqueVisitsByStartInclusiveAndEndAndUri(@Param("start") LocalDateTime start,
+                                                                   @Param("end") LocalDateTime end,
+                                                                   @Param("uriIds") List<Integer> uriIds);
+
+    @Query("select new ru.practicum.endpointhit.model.HitCount(eh.appId, eh.uriId, count(distinct eh.ip)) " +
+            "from EndpointHit as eh " +
+            "where eh.timestamp > :start and eh.timestamp < :end " +
+            "group by eh.appId, eh.uriId " +
             "order by count(distinct eh.ip) desc")
-    List<StatsView> findViewStatsByStartAndEndAndUriAndUniqueIp(@Param("start") LocalDateTime start,
-                                                                @Param("end") LocalDateTime end,
-                                                                @Param("uri") List<String> uri);
+    List<HitCount> findViewStatsByStartAndEndAndUniqueIp(@Param("start") LocalDateTime start,
+                                                         @Param("end") LocalDateTime end);
 
-    @Query("select new ru.practicum.statsview.model.StatsView(eh.app, eh.uri, count(eh.ip)) " +
+    @Query("select new ru.practicum.endpointhit.model.HitCount(eh.appId, eh.uriId, count(eh.ip)) " +
             "from EndpointHit as eh " +
-            "where eh.timestamp > :start and eh.timestamp < :end and eh.uri in (:uri) " +
-            "group by eh.app, eh.uri " +
+            "where eh.timestamp > :start and eh.timestamp < :end " +
+            "group by eh.appId, eh.uriId " +
             "order by count(eh.ip) desc")
-    List<StatsView> findViewStatsByStartAndEndAndUri(@Param("start") LocalDateTime start,
-                                                     @Param("end") LocalDateTime end,
-                                                     @Param("uri") List<String> uri);
+    List<HitCount> findViewStatsByStartAndEnd(@Param("start") LocalDateTime start,
+                                              @Param("end") LocalDateTime end);
 
-    @Query("select distinct eh.uri " +
-            "from EndpointHit as eh ")
-    List<String> findUniqueUri();
+    @Query("select new ru.practicum.endpointhit.model.HitCount(eh.appId, eh.uriId, count(eh.ip)) " +
+            "from EndpointHit as eh " +
+            "where eh.timestamp >= :start and eh.timestamp < :end " +
+            "group by eh.appId, eh.uriId")
+    List<HitCount> findViewStatsByStartInclusiveAndEnd(@Param("start") LocalDateTime start,
+                                                       @Param("end") LocalDateTime end);
+
+    @Query("select distinct new ru.practicum.endpointhit.model.UniqueVisit(eh.appId, eh.uriId, eh.ip) " +
+            "from EndpointHit as eh " +
+            "where eh.timestamp > :start and eh.timestamp < :end")
+    List<UniqueVisit> findUniqueVisitsByStartAndEnd(@Param("start") LocalDateTime start,
+                                                    @Param("end") LocalDateTime end);
+
+    @Query("select distinct new ru.practicum.endpointhit.model.UniqueVisit(eh.appId, eh.uriId, eh.ip) " +
+            "from EndpointHit as eh " +
+            "where eh.timestamp >= :start and eh.timestamp < :end")
+    List<UniqueVisit> findUniqueVisitsByStartInclusiveAndEnd(@Param("start") LocalDateTime start,
+                                                             @Param("end") LocalDateTime end);
 }
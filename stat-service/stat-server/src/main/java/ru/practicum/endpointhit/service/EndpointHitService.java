@@ -8,5 +8,7 @@ import java.util.List;
 public interface EndpointHitService {
     void save(EndpointHit endpointHit);
 
-    List<StatsView> findByParams(String start, String end, List<String> uris, boolean unique);
+    void saveAll(List<EndpointHit> endpointHits);
+
+    List<StatsView> findByParams(String start, String end, List<String> uris, boolean unique, boolean approximate);
 }
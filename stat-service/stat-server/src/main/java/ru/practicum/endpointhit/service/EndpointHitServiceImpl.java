@@ -4,12 +4,20 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.CollectionUtils;
 import ru.practicum.DateFormat;
+import ru.practicum.dictionary.service.HitDictionary;
 import ru.practicum.endpointhit.model.EndpointHit;
+import ru.practicum.endpointhit.model.HitCount;
 import ru.practicum.endpointhit.repository.EndpointHitRepository;
 import ru.practicum.exception.DataTimeException;
+import ru.practicum.live.service.LiveCounterService;
+import ru.practicum.rollup.service.HitRollupService;
+import ru.practicum.sketch.service.HitSketchService;
 import ru.practicum.statsview.model.StatsView;
+import ru.practicum.top.service.TopUriService;
 
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
@@ -21,17 +29,38 @@ import java.util.List;
 @RequiredArgsConstructor
 public class EndpointHitServiceImpl implements EndpointHitService {
     private final EndpointHitRepository endpointHitRepository;
+    private final HitRollupService hitRollupService;
+    private final HitSketchService hitSketchService;
+    private final TopUriService topUriService;
+    private final LiveCounterService liveCounterService;
+    private final HitDictionary hitDictionary;
 
     @Transactional
     @Override
     public void save(EndpointHit endpointHit) {
         endpointHitRepository.save(endpointHit);
+        hitRollupService.addHits(List.of(endpointHit));
+        afterCommit(() -> hitSketchService.addHits(List.of(endpointHit)));
+        afterCommit(() -> topUriService.addHits(List.of(endpointHit)));
+        afterCommit(() -> liveCounterService.addHits(List.of(endpointHit)));
         log.info("Запись о статистике была добавлена");
     }
 
+    @Transactional
+    @Override
+    public void saveAll(List<EndpointHit> endpointHits) {
+        endpointHitRepository.saveAll(endpointHits);
+        hitRollupService.addHits(endpointHits);
+        afterCommit(() -> hitSketchService.addHits(endpointHits));
+        afterCommit(() -> topUriService.addHits(endpointHits));
+        afterCommit(() -> liveCounterService.addHits(endpointHits));
+        log.info("Добавлено записей о статистике: {}", endpointHits.size());
+    }
+
     @Transactional(readOnly = true)
     @Override
-    public List<StatsView> findByParams(String start, String end, List<String> uris, boolean unique) {
+    public List<StatsView> findByParams(String start, String end, List<String> uris, boolean unique,
+                                        boolean approximate) {
         List<StatsView> listViewStats;
         LocalDateTime startTime = decodeTime(start);
         LocalDateTime endTime = decodeTime(end);
@@ -40,26 +69,47 @@ public class EndpointHitServiceImpl implements EndpointHitService {
             throw new DataTimeException("Время начала должно быть раньше времени окончания.");
         }
 
-        if (CollectionUtils.isEmpty(uris)) {
-            uris = endpointHitRepository.findUniqueUri();
-        }
-
-        if (unique) {
-            listViewStats = endpointHitRepository.findViewStatsByStartAndEndAndUriAndUniqueIp(decodeTime(start),
-                    decodeTime(end),
-                    uris);
+        if (unique && approximate) {
+            listViewStats = hitSketchService.findUniqueViewStats(startTime, endTime, uris);
+            listViewStats.forEach(viewStats -> viewStats.setRelativeError(hitSketchService.getRelativeError()));
+        } else if (unique) {
+            listViewStats = findUniqueViewStats(startTime, endTime, uris).stream()
+                    .map(hitDictionary::toStatsView)
+                    .toList();
         } else {
-            listViewStats = endpointHitRepository.findViewStatsByStartAndEndAndUri(decodeTime(start),
-                    decodeTime(end),
-                    uris);
+            listViewStats = hitRollupService.findViewStats(startTime, endTime, uris);
         }
 
         log.info("Получение статистики просмотров завершено.");
         return listViewStats;
     }
 
+    private List<HitCount> findUniqueViewStats(LocalDateTime start, LocalDateTime end, List<String> uris) {
+        if (CollectionUtils.isEmpty(uris)) {
+            return endpointHitRepository.findViewStatsByStartAndEndAndUniqueIp(start, end);
+        }
+        List<Integer> uriIds = hitDictionary.findUriIds(uris);
+        if (uriIds.isEmpty()) {
+            return List.of();
+        }
+        return endpointHitRepository.findViewStatsByStartAndEndAndUriAndUniqueIp(start, end, uriIds);
+    }
+
     private LocalDateTime decodeTime(String time) {
         String decodeTime = URLDecoder.decode(time, StandardCharsets.UTF_8);
         return LocalDateTime.parse(decodeTime, DateFormat.FORMATTER);
     }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package ru.practicum.exception;
+
+import lombok.Getter;
+
+@Getter
+public class HitStreamException extends RuntimeException {
+    private final long accepted;
+
+    public HitStreamException(long accepted, long line, Throwable cause) {
+        super(String.format("Ошибка в строке %d: %s. Сохранено записей: %d", line, cause.getMessage(), accepted), cause);
+        this.accepted = accepted;
+    }
+}
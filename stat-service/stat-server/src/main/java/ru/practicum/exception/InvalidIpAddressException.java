@@ -0,0 +1,11 @@
+package ru.practicum.exception;
+
+public class InvalidIpAddressException extends RuntimeException {
+    public InvalidIpAddressException(String message) {
+        super(message);
+    }
+
+    public InvalidIpAddressException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,12 +1,19 @@
 package ru.practicum.exception.controller;
 
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import ru.practicum.endpointhit.controller.EndpointHitController;
 import ru.practicum.exception.DataTimeException;
+import ru.practicum.exception.HitStreamException;
+import ru.practicum.exception.InvalidIpAddressException;
 import ru.practicum.exception.model.ApiError;
 
 import java.time.LocalDateTime;
@@ -46,4 +53,28 @@ public class ExceptionController {
                 .timestamp(LocalDateTime.now())
                 .build();
     }
+
+    @ExceptionHandler({ConstraintViolationException.class, HandlerMethodValidationException.class,
+            InvalidIpAddressException.class, MethodArgumentTypeMismatchException.class})
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ApiError handleValidationException(Exception e) {
+        return ApiError.builder()
+                .status(HttpStatus.BAD_REQUEST.name())
+                .reason("Ошибка валидации данных")
+                .message(e.getMessage())
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ApiError handleHitStreamException(HitStreamException e, HttpServletResponse response) {
+        response.setHeader(EndpointHitController.ACCEPTED_HITS_HEADER, String.valueOf(e.getAccepted()));
+        return ApiError.builder()
+                .status(HttpStatus.BAD_REQUEST.name())
+                .reason("Ошибка валидации данных")
+                .message(e.getMessage())
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
 }
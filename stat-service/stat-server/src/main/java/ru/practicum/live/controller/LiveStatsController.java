@@ -0,0 +1,29 @@
+package ru.practicum.live.controller;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.StatsViewDto;
+import ru.practicum.live.service.LiveCounterService;
+import ru.practicum.statsview.mapper.StatsViewMapper;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class LiveStatsController {
+    private final LiveCounterService liveCounterService;
+    private final StatsViewMapper viewStatsMapper;
+
+    @GetMapping("stats/live")
+    public List<StatsViewDto> findLive(@RequestParam(defaultValue = "5") @Min(1) @Max(60) int minutes,
+                                       @RequestParam(required = false) List<String> uris) {
+        log.info("Получен запрос на получение текущей статистики с параметрами minutes={}, uris={}", minutes, uris);
+        return viewStatsMapper.listViewStatsToListViewStatsDto(liveCounterService.findViewStats(minutes, uris));
+    }
+}
@@ -0,0 +1,92 @@
+package ru.practicum.live.model;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+public class LiveCounter {
+    public static final int SECONDS = 3600;
+    private static final long COUNT_MASK = 0xFFFFFFFFL;
+
+    @Getter
+    private final String app;
+    @Getter
+    private final String uri;
+    private final AtomicReferenceArray<AtomicLongArray> stripes;
+    @Getter
+    private volatile long lastSecond;
+    @Getter
+    private volatile boolean retired;
+
+    public LiveCounter(String app, String uri, int stripes) {
+        this.app = app;
+        this.uri = uri;
+        this.stripes = new AtomicReferenceArray<>(stripes);
+        this.stripes.set(0, new AtomicLongArray(SECONDS));
+    }
+
+    public void add(long second) {
+        AtomicLongArray slots = stripes.get(0);
+        if (tryAdd(slots, second)) {
+            return;
+        }
+        if (stripes.length() > 1) {
+            slots = stripe(1 + (int) (Thread.currentThread().threadId() % (stripes.length() - 1)));
+        }
+        while (!tryAdd(slots, second)) {
+            Thread.onSpinWait();
+        }
+    }
+
+    public void retire() {
+        retired = true;
+    }
+
+    public long sum(long fromSecond, long toSecond) {
+        long sum = 0;
+        for (int i = 0; i < stripes.length(); i++) {
+            AtomicLongArray slots = stripes.get(i);
+            if (slots == null) {
+                continue;
+            }
+            for (long second = fromSecond; second <= toSecond; second++) {
+                long slot = slots.get(index(second));
+                if (slot >>> 32 == second) {
+                    sum += slot & COUNT_MASK;
+                }
+            }
+        }
+        return sum;
+    }
+
+    private boolean tryAdd(AtomicLongArray slots, long second) {
+        int index = index(second);
+        long slot = slots.get(index);
+        long stamp = slot >>> 32;
+        if (stamp > second) {
+            return true;
+        }
+        long next = stamp == second ? slot + 1 : second << 32 | 1;
+        if (!slots.compareAndSet(index, slot, next)) {
+            return false;
+        }
+        if (second > lastSecond) {
+            lastSecond = second;
+        }
+        return true;
+    }
+
+    private AtomicLongArray stripe(int index) {
+        AtomicLongArray slots = stripes.get(index);
+        if (slots == null) {
+            stripes.compareAndSet(index, null, new AtomicLongArray(SECONDS));
+            slots = stripes.get(index);
+        }
+        return slots;
+    }
+
+    private int index(long second) {
+        return (int) Math.floorMod(second, (long) SECONDS);
+    }
+}
@@ -0,0 +1,12 @@
+package ru.practicum.live.service;
+
+import ru.practicum.endpointhit.model.EndpointHit;
+import ru.practicum.statsview.model.StatsView;
+
+import java.util.List;
+
+public interface LiveCounterService {
+    void addHits(List<EndpointHit> endpointHits);
+
+    List<StatsView> findViewStats(int minutes, List<String> uris);
+}
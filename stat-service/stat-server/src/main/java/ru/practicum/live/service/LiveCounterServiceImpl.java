@@ -0,0 +1,99 @@
+package ru.practicum.live.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.CollectionUtils;
+import ru.practicum.dictionary.service.HitDictionary;
+import ru.practicum.endpointhit.model.EndpointHit;
+import ru.practicum.live.model.LiveCounter;
+import ru.practicum.statsview.model.StatsView;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@Slf4j
+public class LiveCounterServiceImpl implements LiveCounterService {
+    private final HitDictionary hitDictionary;
+    private final int stripes;
+    private final Map<Long, LiveCounter> counters = new ConcurrentHashMap<>();
+
+    public LiveCounterServiceImpl(HitDictionary hitDictionary,
+                                  @Value("${stat-server.live.stripes:4}") int stripes) {
+        this.hitDictionary = hitDictionary;
+        this.stripes = stripes;
+    }
+
+    @Override
+    public void addHits(List<EndpointHit> endpointHits) {
+        long now = now();
+        Map<Long, List<EndpointHit>> hitsByKey = new HashMap<>();
+        for (EndpointHit endpointHit : endpointHits) {
+            long second = endpointHit.getTimestamp().toEpochSecond(ZoneOffset.UTC);
+            if (second <= now - LiveCounter.SECONDS || second > now) {
+                continue;
+            }
+            long key = (long) endpointHit.getAppId() << 32 | Integer.toUnsignedLong(endpointHit.getUriId());
+            hitsByKey.computeIfAbsent(key, id -> new ArrayList<>()).add(endpointHit);
+        }
+        hitsByKey.forEach((key, hits) -> {
+            EndpointHit first = hits.getFirst();
+            String app = hitDictionary.appName(first.getAppId());
+            String uri = hitDictionary.uri(first.getUriId());
+            LiveCounter live;
+            do {
+                live = counters.computeIfAbsent(key, id -> new LiveCounter(app, uri, stripes));
+                for (EndpointHit hit : hits) {
+                    live.add(hit.getTimestamp().toEpochSecond(ZoneOffset.UTC));
+                }
+            } while (live.isRetired());
+        });
+    }
+
+    @Override
+    public List<StatsView> findViewStats(int minutes, List<String> uris) {
+        long now = now();
+        long from = now - minutes * 60L + 1;
+        Set<String> uriFilter = CollectionUtils.isEmpty(uris) ? null : new HashSet<>(uris);
+        return counters.values().stream()
+                .filter(counter -> uriFilter == null || uriFilter.contains(counter.getUri()))
+                .filter(counter -> counter.getLastSecond() >= from)
+                .map(counter -> new StatsView(counter.getApp(), counter.getUri(), counter.sum(from, now)))
+                .filter(viewStats -> viewStats.getHits() > 0)
+                .sorted(Comparator.comparing(StatsView::getHits).reversed())
+                .toList();
+    }
+
+    @Scheduled(fixedDelayString = "${stat-server.live.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        long idleSince = now() - LiveCounter.SECONDS;
+        int evicted = 0;
+        for (Long key : counters.keySet()) {
+            LiveCounter kept = counters.computeIfPresent(key, (id, counter) -> {
+                if (counter.getLastSecond() > idleSince) {
+                    return counter;
+                }
+                counter.retire();
+                return null;
+            });
+            if (kept == null) {
+                evicted++;
+            }
+        }
+        log.debug("Удалено неактивных счётчиков просмотров: {}", evicted);
+    }
+
+    private long now() {
+        return LocalDateTime.now().toEpochSecond(ZoneOffset.UTC);
+    }
+}
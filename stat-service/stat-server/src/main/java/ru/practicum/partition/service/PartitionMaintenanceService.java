@@ -0,0 +1,147 @@
+package ru.practicum.partition.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "stat-server.partitioning.enabled", havingValue = "true")
+public class PartitionMaintenanceService {
+    private static final Pattern PARTITION_NAME = Pattern.compile("statistics_y(\\d{4})m(\\d{2})");
+    private static final String DEFAULT_PARTITION = "statistics_default";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int monthsAhead;
+    private final int retentionMonths;
+
+    public PartitionMaintenanceService(JdbcTemplate jdbcTemplate,
+                                       TransactionTemplate transactionTemplate,
+                                       @Value("${stat-server.partitioning.months-ahead:3}") int monthsAhead,
+                                       @Value("${stat-server.partitioning.retention-months:24}") int retentionMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${stat-server.partitioning.cron:0 0 3 * * *}")
+    public void maintain() {
+        if (!isPartitioned()) {
+            log.warn("Таблица statistics не секционирована, обслуживание секций пропущено");
+            return;
+        }
+        YearMonth current = YearMonth.now();
+        List<String> partitions = findPartitions();
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            if (!partitions.contains(partitionName(month))) {
+                createPartition(month);
+            }
+        }
+        YearMonth oldestKept = current.minusMonths(retentionMonths);
+        for (String partition : partitions) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (!matcher.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+            if (month.isBefore(oldestKept)) {
+                downsampleAndDrop(partition, month);
+            }
+        }
+        if (partitions.contains(DEFAULT_PARTITION)) {
+            downsampleAndDeleteDefault(oldestKept);
+        }
+    }
+
+    private boolean isPartitioned() {
+        Integer count = jdbcTemplate.queryForObject(
+                "select count(*) from pg_partitioned_table pt join pg_class c on c.oid = pt.partrelid " +
+                        "where c.relname = 'statistics'", Integer.class);
+        return count != null && count > 0;
+    }
+
+    private List<String> findPartitions() {
+        return jdbcTemplate.queryForList(
+                "select c.relname from pg_inherits i " +
+                        "join pg_class c on c.oid = i.inhrelid " +
+                        "join pg_class p on p.oid = i.inhparent " +
+                        "where p.relname = 'statistics'", String.class);
+    }
+
+    private void createPartition(YearMonth month) {
+        String partition = partitionName(month);
+        String from = month.atDay(1).toString();
+        String to = month.plusMonths(1).atDay(1).toString();
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute(String.format(
+                    "create table %s (like statistics including defaults including constraints)", partition));
+            int moved = jdbcTemplate.update(String.format(
+                    "with moved as (delete from statistics_default where timestamp >= '%s' and timestamp < '%s' " +
+                            "returning *) insert into %s select * from moved", from, to, partition));
+            jdbcTemplate.execute(String.format(
+                    "alter table statistics attach partition %s for values from ('%s') to ('%s')",
+                    partition, from, to));
+            log.info("Создана секция {} (перенесено строк из секции по умолчанию: {})", partition, moved);
+        });
+    }
+
+    private void downsampleAndDrop(String partition, YearMonth month) {
+        transactionTemplate.executeWithoutResult(status -> {
+            downsample(partition, "true");
+            int minuteBuckets = jdbcTemplate.update(
+                    "delete from statistics_rollup where granularity = 'MINUTE' " +
+                            "and bucket_start >= ? and bucket_start < ?",
+                    month.atDay(1).atStartOfDay(), month.plusMonths(1).atDay(1).atStartOfDay());
+            jdbcTemplate.execute("drop table " + partition);
+            log.info("Секция {} свёрнута в агрегаты (удалено минутных агрегатов: {}) и удалена", partition, minuteBuckets);
+        });
+    }
+
+    private void downsampleAndDeleteDefault(YearMonth oldestKept) {
+        String cutoff = oldestKept.atDay(1).toString();
+        transactionTemplate.executeWithoutResult(status -> {
+            downsample(DEFAULT_PARTITION, String.format("s.timestamp < '%s'", cutoff));
+            int minuteBuckets = jdbcTemplate.update(String.format(
+                    "delete from statistics_rollup where granularity = 'MINUTE' and bucket_start < '%s'", cutoff));
+            int hits = jdbcTemplate.update(String.format(
+                    "delete from %s where timestamp < '%s'", DEFAULT_PARTITION, cutoff));
+            if (hits > 0) {
+                log.info("Из секции {} свёрнуто в агрегаты и удалено записей старше {}: {} " +
+                        "(удалено минутных агрегатов: {})", DEFAULT_PARTITION, cutoff, hits, minuteBuckets);
+            }
+        });
+    }
+
+    private void downsample(String partition, String condition) {
+        for (String granularity : List.of("HOUR", "DAY")) {
+            jdbcTemplate.update(String.format(
+                    "insert into statistics_rollup (granularity, bucket_start, app, uri, hits) " +
+                            "select '%1$s', date_trunc('%1$s', s.timestamp), a.name, u.uri, count(*) " +
+                            "from %2$s as s " +
+                            "join apps as a on a.id = s.app_id " +
+                            "join uris as u on u.id = s.uri_id " +
+                            "where %3$s " +
+                            "group by date_trunc('%1$s', s.timestamp), a.name, u.uri " +
+                            "on conflict do nothing", granularity, partition, condition));
+        }
+    }
+
+    private String partitionName(YearMonth month) {
+        return String.format("statistics_y%04dm%02d", month.getYear(), month.getMonthValue());
+    }
+}
@@ -0,0 +1,24 @@
+package ru.practicum.rollup.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table(name = "statistics_rollup")
+@Getter
+@Setter
+@NoArgsConstructor
+public class HitRollup {
+    @EmbeddedId
+    private HitRollupId id;
+
+    @NotNull
+    @Column
+    private Long hits;
+}
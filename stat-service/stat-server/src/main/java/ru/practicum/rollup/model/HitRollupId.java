@@ -0,0 +1,41 @@
+package ru.practicum.rollup.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+@Embeddable
+@Getter
+@Setter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+public class HitRollupId implements Serializable {
+    public static final Comparator<HitRollupId> ORDER = Comparator.comparing(HitRollupId::getGranularity)
+            .thenComparing(HitRollupId::getBucketStart)
+            .thenComparing(HitRollupId::getApp)
+            .thenComparing(HitRollupId::getUri);
+
+    @Column
+    @Enumerated(value = EnumType.STRING)
+    private Granularity granularity;
+
+    @Column
+    private LocalDateTime bucketStart;
+
+    @Column
+    private String app;
+
+    @Column
+    private String uri;
+}
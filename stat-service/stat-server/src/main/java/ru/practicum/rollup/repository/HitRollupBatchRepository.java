@@ -0,0 +1,9 @@
+package ru.practicum.rollup.repository;
+
+import ru.practicum.rollup.model.HitRollupId;
+
+import java.util.Map;
+
+public interface HitRollupBatchRepository {
+    void addHits(Map<HitRollupId, Long> hits);
+}
@@ -0,0 +1,41 @@
+package ru.practicum.rollup.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.database.DatabaseDialect;
+import ru.practicum.rollup.model.HitRollupId;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
+public class HitRollupBatchRepositoryImpl implements HitRollupBatchRepository {
+    private static final String UPSERT = "insert into statistics_rollup as r " +
+            "(granularity, bucket_start, app, uri, hits) values (?, ?, ?, ?, ?) " +
+            "on conflict (granularity, uri, bucket_start, app) do update set hits = r.hits + excluded.hits";
+    private static final String MERGE = "merge into statistics_rollup as r " +
+            "using (values (cast(? as varchar(6)), cast(? as timestamp), cast(? as varchar), cast(? as varchar), " +
+            "cast(? as bigint))) as v(granularity, bucket_start, app, uri, hits) " +
+            "on r.granularity = v.granularity and r.bucket_start = v.bucket_start " +
+            "and r.app = v.app and r.uri = v.uri " +
+            "when matched then update set hits = r.hits + v.hits " +
+            "when not matched then insert (granularity, bucket_start, app, uri, hits) " +
+            "values (v.granularity, v.bucket_start, v.app, v.uri, v.hits)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseDialect databaseDialect;
+
+    public HitRollupBatchRepositoryImpl(JdbcTemplate jdbcTemplate, DatabaseDialect databaseDialect) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.databaseDialect = databaseDialect;
+    }
+
+    @Override
+    public void addHits(Map<HitRollupId, Long> hits) {
+        List<Object[]> rows = hits.entrySet().stream()
+                .map(entry -> new Object[]{entry.getKey().getGranularity().name(),
+                        Timestamp.valueOf(entry.getKey().getBucketStart()), entry.getKey().getApp(),
+                        entry.getKey().getUri(), entry.getValue()})
+                .toList();
+        jdbcTemplate.batchUpdate(databaseDialect.isPostgreSql() ? UPSERT : MERGE, rows);
+    }
+}
@@ -0,0 +1,33 @@
+package ru.practicum.rollup.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.rollup.model.Granularity;
+import ru.practicum.rollup.model.HitRollup;
+import ru.practicum.rollup.model.HitRollupId;
+import ru.practicum.statsview.model.StatsView;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface HitRollupRepository extends JpaRepository<HitRollup, HitRollupId>, HitRollupBatchRepository {
+
+    @Query("select new ru.practicum.statsview.model.StatsView(r.id.app, r.id.uri, sum(r.hits)) " +
+            "from HitRollup as r " +
+            "where r.id.granularity = :granularity and r.id.bucketStart >= :start and r.id.bucketStart < :end " +
+            "and r.id.uri in (:uri) " +
+            "group by r.id.app, r.id.uri")
+    List<StatsView> sumHits(@Param("granularity") Granularity granularity,
+                            @Param("start") LocalDateTime start,
+                            @Param("end") LocalDateTime end,
+                            @Param("uri") List<String> uri);
+
+    @Query("select new ru.practicum.statsview.model.StatsView(r.id.app, r.id.uri, sum(r.hits)) " +
+            "from HitRollup as r " +
+            "where r.id.granularity = :granularity and r.id.bucketStart >= :start and r.id.bucketStart < :end " +
+            "group by r.id.app, r.id.uri")
+    List<StatsView> sumAllHits(@Param("granularity") Granularity granularity,
+                               @Param("start") LocalDateTime start,
+                               @Param("end") LocalDateTime end);
+}
@@ -0,0 +1,13 @@
+package ru.practicum.rollup.service;
+
+import ru.practicum.endpointhit.model.EndpointHit;
+import ru.practicum.statsview.model.StatsView;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface HitRollupService {
+    void addHits(List<EndpointHit> endpointHits);
+
+    List<StatsView> findViewStats(LocalDateTime start, LocalDateTime end, List<String> uris);
+}
@@ -0,0 +1,129 @@
+package ru.practicum.rollup.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.CollectionUtils;
+import ru.practicum.dictionary.service.HitDictionary;
+import ru.practicum.endpointhit.model.EndpointHit;
+import ru.practicum.endpointhit.model.HitCount;
+import ru.practicum.endpointhit.repository.EndpointHitRepository;
+import ru.practicum.rollup.model.Granularity;
+import ru.practicum.rollup.model.HitRollupId;
+import ru.practicum.rollup.repository.HitRollupRepository;
+import ru.practicum.statsview.model.StatsView;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class HitRollupServiceImpl implements HitRollupService {
+    private static final Granularity[] COARSE_TO_FINE = {Granularity.DAY, Granularity.HOUR, Granularity.MINUTE};
+
+    private final HitRollupRepository hitRollupRepository;
+    private final EndpointHitRepository endpointHitRepository;
+    private final HitDictionary hitDictionary;
+
+    @Transactional
+    @Override
+    public void addHits(List<EndpointHit> endpointHits) {
+        Map<HitRollupId, Long> deltas = new TreeMap<>(HitRollupId.ORDER);
+        for (EndpointHit endpointHit : endpointHits) {
+            for (Granularity granularity : COARSE_TO_FINE) {
+                HitRollupId id = new HitRollupId(granularity, granularity.floor(endpointHit.getTimestamp()),
+                        hitDictionary.appName(endpointHit.getAppId()), hitDictionary.uri(endpointHit.getUriId()));
+                deltas.merge(id, 1L, Long::sum);
+            }
+        }
+        hitRollupRepository.addHits(deltas);
+        log.debug("Обновлено агрегатов статистики: {}", deltas.size());
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<StatsView> findViewStats(LocalDateTime start, LocalDateTime end, List<String> uris) {
+        LocalDateTime firstBucket = Granularity.MINUTE.floor(start).plusMinutes(1);
+        LocalDateTime lastBucket = Granularity.MINUTE.floor(end);
+        List<Integer> uriIds = null;
+
+        if (!CollectionUtils.isEmpty(uris)) {
+            uriIds = hitDictionary.findUriIds(uris);
+            if (uriIds.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        if (!firstBucket.isBefore(lastBucket)) {
+            return toStatsViews(findRawHits(start, end, uriIds));
+        }
+
+        Map<List<String>, StatsView> totals = new HashMap<>();
+        add(totals, toStatsViews(findRawHits(start, firstBucket, uriIds)));
+        addBuckets(totals, firstBucket, lastBucket, uris, 0);
+        add(totals, toStatsViews(findRawHitsFromInclusive(lastBucket, end, uriIds)));
+
+        return totals.values().stream()
+                .sorted(Comparator.comparing(StatsView::getHits).reversed())
+                .toList();
+    }
+
+    private void addBuckets(Map<List<String>, StatsView> totals, LocalDateTime from, LocalDateTime to,
+                            List<String> uris, int level) {
+        if (!from.isBefore(to)) {
+            return;
+        }
+        Granularity granularity = COARSE_TO_FINE[level];
+        if (granularity == Granularity.MINUTE) {
+            add(totals, sumBuckets(granularity, from, to, uris));
+            return;
+        }
+        LocalDateTime alignedFrom = granularity.ceil(from);
+        LocalDateTime alignedTo = granularity.floor(to);
+        if (alignedFrom.isBefore(alignedTo)) {
+            addBuckets(totals, from, alignedFrom, uris, level + 1);
+            add(totals, sumBuckets(granularity, alignedFrom, alignedTo, uris));
+            addBuckets(totals, alignedTo, to, uris, level + 1);
+        } else {
+            addBuckets(totals, from, to, uris, level + 1);
+        }
+    }
+
+    private List<StatsView> sumBuckets(Granularity granularity, LocalDateTime from, LocalDateTime to,
+                                       List<String> uris) {
+        return CollectionUtils.isEmpty(uris)
+                ? hitRollupRepository.sumAllHits(granularity, from, to)
+                : hitRollupRepository.sumHits(granularity, from, to, uris);
+    }
+
+    private List<HitCount> findRawHits(LocalDateTime start, LocalDateTime end, List<Integer> uriIds) {
+        return uriIds == null
+                ? endpointHitRepository.findViewStatsByStartAndEnd(start, end)
+                : endpointHitRepository.findViewStatsByStartAndEndAndUri(start, end, uriIds);
+    }
+
+    private List<HitCount> findRawHitsFromInclusive(LocalDateTime start, LocalDateTime end, List<Integer> uriIds) {
+        return uriIds == null
+                ? endpointHitRepository.findViewStatsByStartInclusiveAndEnd(start, end)
+                : endpointHitRepository.findViewStatsByStartInclusiveAndEndAndUri(start, end, uriIds);
+    }
+
+    private List<StatsView> toStatsViews(List<HitCount> hitCounts) {
+        return hitCounts.stream()
+                .map(hitDictionary::toStatsView)
+                .toList();
+    }
+
+    private void add(Map<List<String>, StatsView> totals, List<StatsView> views) {
+        for (StatsView view : views) {
+            totals.merge(List.of(view.getApp(), view.getUri()), view,
+                    (left, right) -> new StatsView(left.getApp(), left.getUri(), left.getHits() + right.getHits()));
+        }
+    }
+}
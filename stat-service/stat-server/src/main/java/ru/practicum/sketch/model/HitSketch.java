@@ -0,0 +1,25 @@
+package ru.practicum.sketch.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import ru.practicum.rollup.model.HitRollupId;
+
+@Entity
+@Table(name = "statistics_sketch")
+@Getter
+@Setter
+@NoArgsConstructor
+public class HitSketch {
+    @EmbeddedId
+    private HitRollupId id;
+
+    @NotNull
+    @Column
+    private byte[] registers;
+}
@@ -0,0 +1,125 @@
+package ru.practicum.sketch.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+public class HyperLogLog {
+    public static final int MIN_PRECISION = 4;
+    public static final int MAX_PRECISION = 16;
+
+    private final int precision;
+    private final byte[] registers;
+
+    public HyperLogLog(int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Точность HyperLogLog должна быть от 4 до 16: " + precision);
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    private HyperLogLog(int precision, byte[] registers) {
+        this.precision = precision;
+        this.registers = registers;
+    }
+
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        int precision = Integer.numberOfTrailingZeros(bytes.length);
+        if (bytes.length != 1 << precision || precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Некорректный размер HyperLogLog: " + bytes.length);
+        }
+        return new HyperLogLog(precision, Arrays.copyOf(bytes, bytes.length));
+    }
+
+    public static int precisionForError(double relativeError) {
+        int registers = (int) Math.ceil(Math.pow(1.04 / relativeError, 2));
+        int precision = 32 - Integer.numberOfLeadingZeros(registers - 1);
+        return Math.max(MIN_PRECISION, Math.min(MAX_PRECISION, precision));
+    }
+
+    public static double relativeError(int precision) {
+        return 1.04 / Math.sqrt(1 << precision);
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    public byte[] toBytes() {
+        return Arrays.copyOf(registers, registers.length);
+    }
+
+    public void add(String value) {
+        add(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public void add(byte[] value) {
+        long hash = Hashing.hash64(value);
+        int index = (int) (hash >>> (Long.SIZE - precision));
+        long rest = (hash << precision) | (1L << (precision - 1));
+        byte rank = (byte) (Long.numberOfLeadingZeros(rest) + 1);
+        if (registers[index] < rank) {
+            registers[index] = rank;
+        }
+    }
+
+    public void merge(HyperLogLog other) {
+        HyperLogLog source = other.precision > precision ? other.reduce(precision) : other;
+        if (source.precision < precision) {
+            throw new IllegalArgumentException("Нельзя объединить HyperLogLog с меньшей точностью");
+        }
+        for (int i = 0; i < registers.length; i++) {
+            if (registers[i] < source.registers[i]) {
+                registers[i] = source.registers[i];
+            }
+        }
+    }
+
+    public HyperLogLog reduce(int targetPrecision) {
+        if (targetPrecision == precision) {
+            return this;
+        }
+        int shift = precision - targetPrecision;
+        HyperLogLog reduced = new HyperLogLog(targetPrecision);
+        for (int i = 0; i < registers.length; i++) {
+            if (registers[i] == 0) {
+                continue;
+            }
+            int dropped = i & ((1 << shift) - 1);
+            int rank = dropped != 0
+                    ? shift - (Integer.SIZE - Integer.numberOfLeadingZeros(dropped)) + 1
+                    : shift + registers[i];
+            int index = i >>> shift;
+            if (reduced.registers[index] < rank) {
+                reduced.registers[index] = (byte) rank;
+            }
+        }
+        return reduced;
+    }
+
+    public long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = alpha(m) * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    private static double alpha(int m) {
+        return switch (m) {
+            case 16 -> 0.673;
+            case 32 -> 0.697;
+            case 64 -> 0.709;
+            default -> 0.7213 / (1 + 1.079 / m);
+        };
+    }
+}
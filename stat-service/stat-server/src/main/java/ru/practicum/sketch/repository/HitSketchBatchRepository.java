@@ -0,0 +1,9 @@
+package ru.practicum.sketch.repository;
+
+import ru.practicum.rollup.model.HitRollupId;
+
+import java.util.Collection;
+
+public interface HitSketchBatchRepository {
+    void insertMissing(Collection<HitRollupId> ids, byte[] registers);
+}
@@ -0,0 +1,39 @@
+package ru.practicum.sketch.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.database.DatabaseDialect;
+import ru.practicum.rollup.model.HitRollupId;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+
+public class HitSketchBatchRepositoryImpl implements HitSketchBatchRepository {
+    private static final String INSERT = "insert into statistics_sketch " +
+            "(granularity, bucket_start, app, uri, registers) values (?, ?, ?, ?, ?) " +
+            "on conflict do nothing";
+    private static final String MERGE = "merge into statistics_sketch as s " +
+            "using (values (cast(? as varchar(6)), cast(? as timestamp), cast(? as varchar), cast(? as varchar), " +
+            "cast(? as bytea))) as v(granularity, bucket_start, app, uri, registers) " +
+            "on s.granularity = v.granularity and s.bucket_start = v.bucket_start " +
+            "and s.app = v.app and s.uri = v.uri " +
+            "when not matched then insert (granularity, bucket_start, app, uri, registers) " +
+            "values (v.granularity, v.bucket_start, v.app, v.uri, v.registers)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseDialect databaseDialect;
+
+    public HitSketchBatchRepositoryImpl(JdbcTemplate jdbcTemplate, DatabaseDialect databaseDialect) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.databaseDialect = databaseDialect;
+    }
+
+    @Override
+    public void insertMissing(Collection<HitRollupId> ids, byte[] registers) {
+        List<Object[]> rows = ids.stream()
+                .map(id -> new Object[]{id.getGranularity().name(), Timestamp.valueOf(id.getBucketStart()),
+                        id.getApp(), id.getUri(), registers})
+                .toList();
+        jdbcTemplate.batchUpdate(databaseDialect.isPostgreSql() ? INSERT : MERGE, rows);
+    }
+}
@@ -0,0 +1,35 @@
+package ru.practicum.sketch.repository;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.rollup.model.Granularity;
+import ru.practicum.rollup.model.HitRollupId;
+import ru.practicum.sketch.model.HitSketch;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface HitSketchRepository extends JpaRepository<HitSketch, HitRollupId>, HitSketchBatchRepository {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from HitSketch as s where s.id = :id")
+    Optional<HitSketch> findByIdForUpdate(@Param("id") HitRollupId id);
+
+    @Query("select s from HitSketch as s " +
+            "where s.id.granularity = :granularity and s.id.bucketStart >= :start and s.id.bucketStart < :end " +
+            "and s.id.uri in (:uri)")
+    List<HitSketch> findByGranularityAndBucketStartAndUri(@Param("granularity") Granularity granularity,
+                                                          @Param("start") LocalDateTime start,
+                                                          @Param("end") LocalDateTime end,
+                                                          @Param("uri") List<String> uri);
+
+    @Query("select s from HitSketch as s " +
+            "where s.id.granularity = :granularity and s.id.bucketStart >= :start and s.id.bucketStart < :end")
+    List<HitSketch> findByGranularityAndBucketStart(@Param("granularity") Granularity granularity,
+                                                    @Param("start") LocalDateTime start,
+                                                    @Param("end") LocalDateTime end);
+}
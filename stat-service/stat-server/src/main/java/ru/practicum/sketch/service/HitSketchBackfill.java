@@ -0,0 +1,85 @@
+package ru.practicum.sketch.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import ru.practicum.endpointhit.model.EndpointHit;
+import ru.practicum.endpointhit.repository.EndpointHitRepository;
+import ru.practicum.rollup.model.Granularity;
+import ru.practicum.rollup.model.HitRollupId;
+import ru.practicum.sketch.model.HyperLogLog;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class HitSketchBackfill {
+    private static final int PAGE_SIZE = 1000;
+
+    private final EndpointHitRepository endpointHitRepository;
+    private final HitSketchService hitSketchService;
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        backfillFromHits();
+        backfillMonths();
+    }
+
+    private void backfillFromHits() {
+        List<Long> progress = jdbcTemplate.queryForList(
+                "select last_hit_id from statistics_sketch_backfill where completed = false", Long.class);
+        if (progress.isEmpty()) {
+            return;
+        }
+        long lastHitId = progress.getFirst();
+        log.info("Построение скетчей уникальных просмотров по сохранённой статистике, начиная после id={}", lastHitId);
+        PageRequest pageRequest = PageRequest.of(0, PAGE_SIZE);
+        List<EndpointHit> page;
+        while (!(page = endpointHitRepository.findByIdGreaterThanOrderById(lastHitId, pageRequest)).isEmpty()) {
+            hitSketchService.addHits(page);
+            hitSketchService.flush();
+            lastHitId = page.getLast().getId();
+            jdbcTemplate.update("update statistics_sketch_backfill set last_hit_id = ?", lastHitId);
+        }
+        jdbcTemplate.update("update statistics_sketch_backfill set completed = true");
+        log.info("Построение скетчей уникальных просмотров завершено");
+    }
+
+    private void backfillMonths() {
+        List<Boolean> completed = jdbcTemplate.queryForList(
+                "select months_completed from statistics_sketch_backfill", Boolean.class);
+        if (completed.isEmpty() || completed.getFirst()) {
+            return;
+        }
+        log.info("Построение месячных скетчей уникальных просмотров по дневным");
+        Map<HitRollupId, HyperLogLog> months = new HashMap<>();
+        jdbcTemplate.query("select bucket_start, app, uri, registers from statistics_sketch " +
+                "where granularity = 'DAY' order by app, uri, bucket_start", rs -> {
+            HitRollupId id = new HitRollupId(Granularity.MONTH,
+                    Granularity.MONTH.floor(rs.getTimestamp("bucket_start").toLocalDateTime()),
+                    rs.getString("app"), rs.getString("uri"));
+            HyperLogLog day = HyperLogLog.fromBytes(rs.getBytes("registers"));
+            months.merge(id, day, (month, other) -> {
+                month.merge(other);
+                return month;
+            });
+            if (months.size() >= PAGE_SIZE) {
+                hitSketchService.addSketches(months);
+                hitSketchService.flush();
+                months.clear();
+            }
+        });
+        hitSketchService.addSketches(months);
+        hitSketchService.flush();
+        jdbcTemplate.update("update statistics_sketch_backfill set months_completed = true");
+        log.info("Построение месячных скетчей уникальных просмотров завершено");
+    }
+}
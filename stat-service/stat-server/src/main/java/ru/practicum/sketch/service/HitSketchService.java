@@ -0,0 +1,22 @@
+package ru.practicum.sketch.service;
+
+import ru.practicum.endpointhit.model.EndpointHit;
+import ru.practicum.rollup.model.HitRollupId;
+import ru.practicum.sketch.model.HyperLogLog;
+import ru.practicum.statsview.model.StatsView;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public interface HitSketchService {
+    void addHits(List<EndpointHit> endpointHits);
+
+    void addSketches(Map<HitRollupId, HyperLogLog> sketches);
+
+    void flush();
+
+    List<StatsView> findUniqueViewStats(LocalDateTime start, LocalDateTime end, List<String> uris);
+
+    double getRelativeError();
+}
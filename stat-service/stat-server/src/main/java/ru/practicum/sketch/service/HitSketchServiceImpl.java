@@ -0,0 +1,240 @@
+package ru.practicum.sketch.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.CollectionUtils;
+import ru.practicum.dictionary.service.HitDictionary;
+import ru.practicum.endpointhit.model.EndpointHit;
+import ru.practicum.endpointhit.model.UniqueVisit;
+import ru.practicum.endpointhit.repository.EndpointHitRepository;
+import ru.practicum.rollup.model.Granularity;
+import ru.practicum.rollup.model.HitRollupId;
+import ru.practicum.sketch.model.HitSketch;
+import ru.practicum.sketch.model.HyperLogLog;
+import ru.practicum.sketch.repository.HitSketchRepository;
+import ru.practicum.statsview.model.StatsView;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@Slf4j
+public class HitSketchServiceImpl implements HitSketchService {
+    private static final Granularity[] COARSE_TO_FINE = {Granularity.MONTH, Granularity.DAY, Granularity.HOUR};
+
+    private final HitSketchRepository hitSketchRepository;
+    private final EndpointHitRepository endpointHitRepository;
+    private final HitDictionary hitDictionary;
+    private final TransactionTemplate transactionTemplate;
+    private final int precision;
+    private final Map<HitRollupId, HyperLogLog> pending = new ConcurrentHashMap<>();
+    private volatile Map<HitRollupId, HyperLogLog> flushing = Map.of();
+
+    public HitSketchServiceImpl(HitSketchRepository hitSketchRepository,
+                                EndpointHitRepository endpointHitRepository,
+                                HitDictionary hitDictionary,
+                                TransactionTemplate transactionTemplate,
+                                @Value("${stat-server.sketch.relative-error:0.02}") double relativeError) {
+        this.hitSketchRepository = hitSketchRepository;
+        this.endpointHitRepository = endpointHitRepository;
+        this.hitDictionary = hitDictionary;
+        this.transactionTemplate = transactionTemplate;
+        this.precision = HyperLogLog.precisionForError(relativeError);
+        log.info("Точность HyperLogLog: {}, относительная погрешность: {}", precision, getRelativeError());
+    }
+
+    @Override
+    public void addHits(List<EndpointHit> endpointHits) {
+        Map<HitRollupId, Set<ByteBuffer>> ipsByBucket = new HashMap<>();
+        for (EndpointHit endpointHit : endpointHits) {
+            for (Granularity granularity : COARSE_TO_FINE) {
+                HitRollupId id = new HitRollupId(granularity, granularity.floor(endpointHit.getTimestamp()),
+                        hitDictionary.appName(endpointHit.getAppId()), hitDictionary.uri(endpointHit.getUriId()));
+                ipsByBucket.computeIfAbsent(id, key -> new HashSet<>()).add(ByteBuffer.wrap(endpointHit.getIp()));
+            }
+        }
+        ipsByBucket.forEach((id, ips) -> pending.compute(id, (key, sketch) -> {
+            HyperLogLog merged = sketch != null ? sketch : new HyperLogLog(precision);
+            ips.forEach(ip -> merged.add(ip.array()));
+            return merged;
+        }));
+    }
+
+    @Override
+    public void addSketches(Map<HitRollupId, HyperLogLog> sketches) {
+        sketches.forEach(this::mergePending);
+    }
+
+    @Scheduled(fixedDelayString = "${stat-server.sketch.flush-interval-ms:1000}",
+            initialDelayString = "${stat-server.sketch.flush-interval-ms:1000}")
+    @Override
+    public synchronized void flush() {
+        Map<HitRollupId, HyperLogLog> batch = new TreeMap<>(HitRollupId.ORDER);
+        for (HitRollupId id : pending.keySet()) {
+            HyperLogLog sketch = pending.remove(id);
+            if (sketch != null) {
+                batch.put(id, sketch);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        flushing = batch;
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(batch));
+        } catch (Exception e) {
+            batch.forEach(this::mergePending);
+            log.error("Запись скетчей уникальных просмотров завершилась ошибкой, повторим позже.", e);
+            return;
+        } finally {
+            flushing = Map.of();
+        }
+        log.debug("Обновлено скетчей уникальных просмотров: {}", batch.size());
+    }
+
+    @PreDestroy
+    public void stop() {
+        flush();
+        log.info("Скетчи уникальных просмотров сохранены");
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<StatsView> findUniqueViewStats(LocalDateTime start, LocalDateTime end, List<String> uris) {
+        LocalDateTime firstBucket = Granularity.HOUR.floor(start).plusHours(1);
+        LocalDateTime lastBucket = Granularity.HOUR.floor(end);
+        List<Integer> uriIds = null;
+        Map<List<String>, HyperLogLog> sketches = new HashMap<>();
+
+        if (!CollectionUtils.isEmpty(uris)) {
+            uriIds = hitDictionary.findUriIds(uris);
+            if (uriIds.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        if (!firstBucket.isBefore(lastBucket)) {
+            addVisits(sketches, findVisits(start, end, uriIds));
+        } else {
+            addVisits(sketches, findVisits(start, firstBucket, uriIds));
+            addBuckets(sketches, firstBucket, lastBucket, uris, 0);
+            addVisits(sketches, findVisitsFromInclusive(lastBucket, end, uriIds));
+        }
+
+        return sketches.entrySet().stream()
+                .map(entry -> new StatsView(entry.getKey().get(0), entry.getKey().get(1), entry.getValue().estimate()))
+                .sorted(Comparator.comparing(StatsView::getHits).reversed())
+                .toList();
+    }
+
+    @Override
+    public double getRelativeError() {
+        return HyperLogLog.relativeError(precision);
+    }
+
+    private void write(Map<HitRollupId, HyperLogLog> batch) {
+        hitSketchRepository.insertMissing(batch.keySet(), new HyperLogLog(precision).toBytes());
+        batch.forEach((id, delta) -> {
+            HitSketch hitSketch = hitSketchRepository.findByIdForUpdate(id)
+                    .orElseThrow(() -> new IllegalStateException(String.format(
+                            "Скетч %s %s для %s не найден после вставки", id.getGranularity(), id.getBucketStart(),
+                            id.getUri())));
+            HyperLogLog sketch = HyperLogLog.fromBytes(hitSketch.getRegisters());
+            sketch.merge(delta);
+            hitSketch.setRegisters(sketch.toBytes());
+            hitSketchRepository.save(hitSketch);
+        });
+    }
+
+    private void mergePending(HitRollupId id, HyperLogLog delta) {
+        pending.merge(id, delta, (sketch, other) -> {
+            sketch.merge(other);
+            return sketch;
+        });
+    }
+
+    private void addBuckets(Map<List<String>, HyperLogLog> sketches, LocalDateTime from, LocalDateTime to,
+                            List<String> uris, int level) {
+        if (!from.isBefore(to)) {
+            return;
+        }
+        Granularity granularity = COARSE_TO_FINE[level];
+        if (level == COARSE_TO_FINE.length - 1) {
+            addSketches(sketches, findSketches(granularity, from, to, uris));
+            return;
+        }
+        LocalDateTime alignedFrom = granularity.ceil(from);
+        LocalDateTime alignedTo = granularity.floor(to);
+        if (alignedFrom.isBefore(alignedTo)) {
+            addBuckets(sketches, from, alignedFrom, uris, level + 1);
+            addSketches(sketches, findSketches(granularity, alignedFrom, alignedTo, uris));
+            addBuckets(sketches, alignedTo, to, uris, level + 1);
+        } else {
+            addBuckets(sketches, from, to, uris, level + 1);
+        }
+    }
+
+    private List<HitSketch> findSketches(Granularity granularity, LocalDateTime from, LocalDateTime to,
+                                         List<String> uris) {
+        List<HitSketch> hitSketches = new ArrayList<>(CollectionUtils.isEmpty(uris)
+                ? hitSketchRepository.findByGranularityAndBucketStart(granularity, from, to)
+                : hitSketchRepository.findByGranularityAndBucketStartAndUri(granularity, from, to, uris));
+        Set<String> uriFilter = CollectionUtils.isEmpty(uris) ? null : new HashSet<>(uris);
+        for (Map<HitRollupId, HyperLogLog> unwritten : List.of(flushing, pending)) {
+            unwritten.forEach((id, sketch) -> {
+                if (id.getGranularity() == granularity && !id.getBucketStart().isBefore(from)
+                        && id.getBucketStart().isBefore(to) && (uriFilter == null || uriFilter.contains(id.getUri()))) {
+                    HitSketch hitSketch = new HitSketch();
+                    hitSketch.setId(id);
+                    hitSketch.setRegisters(sketch.toBytes());
+                    hitSketches.add(hitSketch);
+                }
+            });
+        }
+        return hitSketches;
+    }
+
+    private List<UniqueVisit> findVisits(LocalDateTime start, LocalDateTime end, List<Integer> uriIds) {
+        return uriIds == null
+                ? endpointHitRepository.findUniqueVisitsByStartAndEnd(start, end)
+                : endpointHitRepository.findUniqueVisitsByStartAndEndAndUri(start, end, uriIds);
+    }
+
+    private List<UniqueVisit> findVisitsFromInclusive(LocalDateTime start, LocalDateTime end, List<Integer> uriIds) {
+        return uriIds == null
+                ? endpointHitRepository.findUniqueVisitsByStartInclusiveAndEnd(start, end)
+                : endpointHitRepository.findUniqueVisitsByStartInclusiveAndEndAndUri(start, end, uriIds);
+    }
+
+    private void addSketches(Map<List<String>, HyperLogLog> sketches, List<HitSketch> hitSketches) {
+        for (HitSketch hitSketch : hitSketches) {
+            sketchFor(sketches, hitSketch.getId().getApp(), hitSketch.getId().getUri())
+                    .merge(HyperLogLog.fromBytes(hitSketch.getRegisters()));
+        }
+    }
+
+    private void addVisits(Map<List<String>, HyperLogLog> sketches, List<UniqueVisit> visits) {
+        for (UniqueVisit visit : visits) {
+            sketchFor(sketches, hitDictionary.appName(visit.getAppId()), hitDictionary.uri(visit.getUriId()))
+                    .add(visit.getIp());
+        }
+    }
+
+    private HyperLogLog sketchFor(Map<List<String>, HyperLogLog> sketches, String app, String uri) {
+        return sketches.computeIfAbsent(List.of(app, uri), key -> new HyperLogLog(precision));
+    }
+}
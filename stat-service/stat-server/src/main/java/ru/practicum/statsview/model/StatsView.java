@@ -2,13 +2,13 @@ package ru.practicum.statsview.model;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Getter
 @Setter
-@AllArgsConstructor
+@NoArgsConstructor
 public class StatsView {
     @NotBlank
     private String app;
@@ -16,4 +16,11 @@ public class StatsView {
     private String uri;
     @NotNull
     private Long hits;
+    private Double relativeError;
+
+    public StatsView(String app, String uri, Long hits) {
+        this.app = app;
+        this.uri = uri;
+        this.hits = hits;
+    }
 }
@@ -0,0 +1,29 @@
+package ru.practicum.top.controller;
+
+import jakarta.validation.constraints.Positive;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.TopViewDto;
+import ru.practicum.top.mapper.TopViewMapper;
+import ru.practicum.top.model.TopWindow;
+import ru.practicum.top.service.TopUriService;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class TopUriController {
+    private final TopUriService topUriService;
+    private final TopViewMapper topViewMapper;
+
+    @GetMapping("stats/top")
+    public List<TopViewDto> findTop(@RequestParam(defaultValue = "HOUR") TopWindow window,
+                                    @RequestParam(defaultValue = "10") @Positive int n) {
+        log.info("Получен запрос на получение самых посещаемых uri с параметрами window={}, n={}", window, n);
+        return topViewMapper.listTopViewToListTopViewDto(topUriService.findTop(window, n));
+    }
+}
@@ -0,0 +1,12 @@
+package ru.practicum.top.mapper;
+
+import org.mapstruct.Mapper;
+import ru.practicum.TopViewDto;
+import ru.practicum.top.model.TopView;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+public interface TopViewMapper {
+    List<TopViewDto> listTopViewToListTopViewDto(List<TopView> topViews);
+}
@@ -0,0 +1,150 @@
+package ru.practicum.top.model;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+public class SpaceSaving<K> {
+    private final int capacity;
+    private final Map<K, Counter<K>> counters;
+    private final TreeSet<Counter<K>> byCount;
+    private long total;
+    private long sequence;
+
+    public SpaceSaving(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Ёмкость Space-Saving должна быть положительной: " + capacity);
+        }
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+        this.byCount = new TreeSet<>(Comparator.<Counter<K>>comparingLong(Counter::getCount)
+                .thenComparingLong(counter -> counter.sequence));
+    }
+
+    public void offer(K key) {
+        offer(key, 1);
+    }
+
+    public void offer(K key, long weight) {
+        total += weight;
+        Counter<K> counter = counters.get(key);
+        if (counter != null) {
+            update(counter, counter.count + weight, counter.error);
+            return;
+        }
+        if (counters.size() < capacity) {
+            insert(key, weight, 0);
+            return;
+        }
+        Counter<K> min = byCount.pollFirst();
+        counters.remove(min.key);
+        insert(key, min.count + weight, min.count);
+    }
+
+    public void merge(SpaceSaving<K> other) {
+        long thisMin = isFull() ? getMinCount() : 0;
+        long otherMin = other.isFull() ? other.getMinCount() : 0;
+        Map<K, long[]> merged = new HashMap<>();
+        Set<K> keys = new HashSet<>(counters.keySet());
+        keys.addAll(other.counters.keySet());
+        for (K key : keys) {
+            Counter<K> left = counters.get(key);
+            Counter<K> right = other.counters.get(key);
+            long count = (left != null ? left.count : thisMin) + (right != null ? right.count : otherMin);
+            long error = (left != null ? left.error : thisMin) + (right != null ? right.error : otherMin);
+            merged.put(key, new long[]{count, error});
+        }
+        long mergedTotal = total + other.total;
+        clear();
+        total = mergedTotal;
+        merged.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<K, long[]> entry) -> entry.getValue()[0]).reversed())
+                .limit(capacity)
+                .forEach(entry -> insert(entry.getKey(), entry.getValue()[0], entry.getValue()[1]));
+    }
+
+    public List<Counter<K>> top(int n) {
+        List<Counter<K>> result = new ArrayList<>(Math.min(n, counters.size()));
+        for (Counter<K> counter : byCount.descendingSet()) {
+            if (result.size() == n) {
+                break;
+            }
+            result.add(counter);
+        }
+        return result;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getMaxError() {
+        return isFull() ? getMinCount() : 0;
+    }
+
+    public SpaceSaving<K> copy() {
+        SpaceSaving<K> copy = new SpaceSaving<>(capacity);
+        copy.total = total;
+        byCount.forEach(counter -> copy.insert(counter.key, counter.count, counter.error));
+        return copy;
+    }
+
+    public void clear() {
+        counters.clear();
+        byCount.clear();
+        total = 0;
+    }
+
+    private boolean isFull() {
+        return counters.size() >= capacity;
+    }
+
+    private long getMinCount() {
+        return byCount.isEmpty() ? 0 : byCount.first().count;
+    }
+
+    private void insert(K key, long count, long error) {
+        Counter<K> counter = new Counter<>(key, count, error, sequence++);
+        counters.put(key, counter);
+        byCount.add(counter);
+    }
+
+    private void update(Counter<K> counter, long count, long error) {
+        byCount.remove(counter);
+        counter.count = count;
+        counter.error = error;
+        counter.sequence = sequence++;
+        byCount.add(counter);
+    }
+
+    public static final class Counter<K> {
+        private final K key;
+        private long count;
+        private long error;
+        private long sequence;
+
+        private Counter(K key, long count, long error, long sequence) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+            this.sequence = sequence;
+        }
+
+        public K getKey() {
+            return key;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getError() {
+            return error;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package ru.practicum.top.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class TopView {
+    private String app;
+    private String uri;
+    private Long hits;
+    private Long maxError;
+}
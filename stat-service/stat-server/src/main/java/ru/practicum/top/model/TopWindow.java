@@ -0,0 +1,14 @@
+package ru.practicum.top.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum TopWindow {
+    HOUR(60, 60),
+    DAY(3600, 24);
+
+    private final long paneSeconds;
+    private final int panes;
+}
@@ -0,0 +1,13 @@
+package ru.practicum.top.service;
+
+import ru.practicum.endpointhit.model.EndpointHit;
+import ru.practicum.top.model.TopView;
+import ru.practicum.top.model.TopWindow;
+
+import java.util.List;
+
+public interface TopUriService {
+    void addHits(List<EndpointHit> endpointHits);
+
+    List<TopView> findTop(TopWindow window, int n);
+}
@@ -0,0 +1,129 @@
+package ru.practicum.top.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import ru.practicum.dictionary.service.HitDictionary;
+import ru.practicum.endpointhit.model.EndpointHit;
+import ru.practicum.top.model.SpaceSaving;
+import ru.practicum.top.model.TopView;
+import ru.practicum.top.model.TopWindow;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@Slf4j
+public class TopUriServiceImpl implements TopUriService {
+    private final HitDictionary hitDictionary;
+    private final int capacity;
+    private final Map<TopWindow, SlidingWindow> windows = new EnumMap<>(TopWindow.class);
+
+    public TopUriServiceImpl(HitDictionary hitDictionary,
+                             @Value("${stat-server.top.capacity:1000}") int capacity) {
+        this.hitDictionary = hitDictionary;
+        this.capacity = capacity;
+        for (TopWindow window : TopWindow.values()) {
+            windows.put(window, new SlidingWindow(window, capacity));
+        }
+        log.info("Скетчи самых посещаемых uri: ёмкость={}, окна={}", capacity, windows.keySet());
+    }
+
+    @Override
+    public void addHits(List<EndpointHit> endpointHits) {
+        for (EndpointHit endpointHit : endpointHits) {
+            long key = key(endpointHit.getAppId(), endpointHit.getUriId());
+            long epochSecond = endpointHit.getTimestamp().toEpochSecond(ZoneOffset.UTC);
+            windows.values().forEach(window -> window.add(key, epochSecond));
+        }
+    }
+
+    @Override
+    public List<TopView> findTop(TopWindow window, int n) {
+        long now = LocalDateTime.now().toEpochSecond(ZoneOffset.UTC);
+        SpaceSaving<Long> summary = windows.get(window).summary(now);
+        return summary.top(Math.min(n, capacity)).stream()
+                .map(counter -> new TopView(
+                        hitDictionary.appName((int) (counter.getKey() >>> 32)),
+                        hitDictionary.uri((int) (long) counter.getKey()),
+                        counter.getCount(),
+                        counter.getError()))
+                .toList();
+    }
+
+    private long key(int appId, int uriId) {
+        return (long) appId << 32 | Integer.toUnsignedLong(uriId);
+    }
+
+    private static final class Pane {
+        private final SpaceSaving<Long> hits;
+        private long id = Long.MIN_VALUE;
+
+        private Pane(int capacity) {
+            this.hits = new SpaceSaving<>(capacity);
+        }
+
+        private void reset(long id) {
+            this.id = id;
+            hits.clear();
+        }
+    }
+
+    private static final class SlidingWindow {
+        private final TopWindow window;
+        private final Pane[] panes;
+        private final int capacity;
+        private long closedPaneId = Long.MIN_VALUE;
+        private SpaceSaving<Long> closedHits;
+
+        private SlidingWindow(TopWindow window, int capacity) {
+            this.window = window;
+            this.capacity = capacity;
+            this.panes = new Pane[window.getPanes()];
+            for (int i = 0; i < panes.length; i++) {
+                panes[i] = new Pane(capacity);
+            }
+        }
+
+        private synchronized void add(long key, long epochSecond) {
+            long paneId = Math.floorDiv(epochSecond, window.getPaneSeconds());
+            Pane pane = panes[(int) Math.floorMod(paneId, (long) panes.length)];
+            if (pane.id > paneId) {
+                return;
+            }
+            if (pane.id < paneId) {
+                if (pane.id <= closedPaneId) {
+                    closedPaneId = Long.MIN_VALUE;
+                }
+                pane.reset(paneId);
+            }
+            pane.hits.offer(key);
+            if (paneId <= closedPaneId) {
+                closedPaneId = Long.MIN_VALUE;
+            }
+        }
+
+        private synchronized SpaceSaving<Long> summary(long epochSecond) {
+            long currentPaneId = Math.floorDiv(epochSecond, window.getPaneSeconds());
+            long oldestPaneId = currentPaneId - panes.length + 1;
+            if (closedPaneId != currentPaneId - 1) {
+                closedHits = new SpaceSaving<>(capacity);
+                for (Pane pane : panes) {
+                    if (pane.id >= oldestPaneId && pane.id < currentPaneId) {
+                        closedHits.merge(pane.hits);
+                    }
+                }
+                closedPaneId = currentPaneId - 1;
+            }
+            SpaceSaving<Long> summary = closedHits.copy();
+            Pane current = panes[(int) Math.floorMod(currentPaneId, (long) panes.length)];
+            if (current.id == currentPaneId) {
+                summary.merge(current.hits);
+            }
+            return summary;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+CREATE SEQUENCE IF NOT EXISTS statistics_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS apps (
+    id          INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        varchar NOT NULL UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS uris (
+    id          INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    uri         varchar NOT NULL UNIQUE
+);
+
+DO '
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema() AND table_name = ''statistics'' AND column_name = ''app'') THEN
+        ALTER TABLE statistics RENAME TO statistics_legacy;
+        IF EXISTS (SELECT 1 FROM pg_constraint WHERE conname = ''statistics_pkey''
+                   AND conrelid = ''statistics_legacy''::regclass) THEN
+            ALTER TABLE statistics_legacy RENAME CONSTRAINT statistics_pkey TO statistics_legacy_pkey;
+        END IF;
+    END IF;
+END';
+
+CREATE TABLE IF NOT EXISTS statistics (
+    id          BIGINT NOT NULL,
+    app_id      INTEGER NOT NULL REFERENCES apps (id),
+    uri_id      INTEGER NOT NULL REFERENCES uris (id),
+    ip          BYTEA NOT NULL,
+    timestamp   TIMESTAMP NOT NULL,
+    PRIMARY KEY (id, timestamp)
+) PARTITION BY RANGE (timestamp);
+
+CREATE TABLE IF NOT EXISTS statistics_default PARTITION OF statistics DEFAULT;
+
+DO '
+BEGIN
+    IF to_regclass(''statistics_legacy'') IS NULL THEN
+        RETURN;
+    END IF;
+    INSERT INTO apps (name) SELECT DISTINCT app FROM statistics_legacy ON CONFLICT (name) DO NOTHING;
+    INSERT INTO uris (uri) SELECT DISTINCT uri FROM statistics_legacy ON CONFLICT (uri) DO NOTHING;
+    BEGIN
+        INSERT INTO statistics (id, app_id, uri_id, ip, timestamp)
+        SELECT l.id, a.id, u.id, substring(inet_send(l.ip::inet) FROM 5), l.timestamp
+        FROM statistics_legacy AS l
+        JOIN apps AS a ON a.name = l.app
+        JOIN uris AS u ON u.uri = l.uri;
+    EXCEPTION WHEN invalid_text_representation THEN
+        RAISE EXCEPTION ''Таблица statistics не переведена в новый формат: %'', SQLERRM;
+    END;
+    DROP TABLE statistics_legacy;
+END';
+
+SELECT setval('statistics_seq', GREATEST((SELECT last_value FROM statistics_seq),
+                                         (SELECT COALESCE(MAX(id), 0) FROM statistics) + 50));
@@ -1,7 +1,72 @@
-CREATE TABLE IF NOT EXISTS statistics (
+CREATE SEQUENCE IF NOT EXISTS statistics_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS apps (
+    id          INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        varchar NOT NULL UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS uris (
     id          INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
-    app         varchar NOT NULL,
-    uri         varchar NOT NULL,
-    ip          varchar(16) NOT NULL,
+    uri         varchar NOT NULL UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS statistics (
+    id          BIGINT PRIMARY KEY,
+    app_id      INTEGER NOT NULL REFERENCES apps (id),
+    uri_id      INTEGER NOT NULL REFERENCES uris (id),
+    ip          BYTEA NOT NULL,
     timestamp   TIMESTAMP NOT NULL
-);
\ No newline at end of file
+);
+
+CREATE INDEX IF NOT EXISTS statistics_uri_timestamp_idx ON statistics (uri_id, timestamp);
+
+CREATE TABLE IF NOT EXISTS statistics_rollup (
+    granularity  varchar(6) NOT NULL,
+    bucket_start TIMESTAMP NOT NULL,
+    app          varchar NOT NULL,
+    uri          varchar NOT NULL,
+    hits         BIGINT NOT NULL,
+    PRIMARY KEY (granularity, uri, bucket_start, app)
+);
+
+CREATE TABLE IF NOT EXISTS statistics_sketch (
+    granularity  varchar(6) NOT NULL,
+    bucket_start TIMESTAMP NOT NULL,
+    app          varchar NOT NULL,
+    uri          varchar NOT NULL,
+    registers    BYTEA NOT NULL,
+    PRIMARY KEY (granularity, uri, bucket_start, app)
+);
+
+CREATE TABLE IF NOT EXISTS statistics_sketch_backfill (
+    last_hit_id  BIGINT NOT NULL,
+    completed    BOOLEAN NOT NULL
+);
+
+ALTER TABLE statistics_sketch_backfill ADD COLUMN IF NOT EXISTS months_completed BOOLEAN NOT NULL DEFAULT FALSE;
+
+INSERT INTO statistics_sketch_backfill (last_hit_id, completed)
+SELECT 0, FALSE
+WHERE NOT EXISTS (SELECT 1 FROM statistics_sketch_backfill);
+
+INSERT INTO statistics_rollup (granularity, bucket_start, app, uri, hits)
+SELECT 'MINUTE', DATE_TRUNC('MINUTE', s.timestamp), a.name, u.uri, COUNT(*)
+FROM statistics AS s
+JOIN apps AS a ON a.id = s.app_id
+JOIN uris AS u ON u.id = s.uri_id
+WHERE NOT EXISTS (SELECT 1 FROM statistics_rollup)
+GROUP BY DATE_TRUNC('MINUTE', s.timestamp), a.name, u.uri;
+
+INSERT INTO statistics_rollup (granularity, bucket_start, app, uri, hits)
+SELECT 'HOUR', DATE_TRUNC('HOUR', r.bucket_start), r.app, r.uri, SUM(r.hits)
+FROM statistics_rollup AS r
+WHERE r.granularity = 'MINUTE'
+  AND NOT EXISTS (SELECT 1 FROM statistics_rollup WHERE granularity = 'HOUR')
+GROUP BY DATE_TRUNC('HOUR', r.bucket_start), r.app, r.uri;
+
+INSERT INTO statistics_rollup (granularity, bucket_start, app, uri, hits)
+SELECT 'DAY', DATE_TRUNC('DAY', r.bucket_start), r.app, r.uri, SUM(r.hits)
+FROM statistics_rollup AS r
+WHERE r.granularity = 'HOUR'
+  AND NOT EXISTS (SELECT 1 FROM statistics_rollup WHERE granularity = 'DAY')
+GROUP BY DATE_TRUNC('DAY', r.bucket_start), r.app, r.uri;
\ No newline at end of file
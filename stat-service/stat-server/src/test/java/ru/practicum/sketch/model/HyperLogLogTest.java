@@ -0,0 +1,47 @@
+package ru.practicum.sketch.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HyperLogLogTest {
+    private static final int PRECISION = HyperLogLog.precisionForError(0.02);
+
+    @Test
+    void estimateStaysWithinErrorBound() {
+        for (int distinct : new int[]{100, 10_000, 1_000_000}) {
+            HyperLogLog sketch = new HyperLogLog(PRECISION);
+            for (int i = 0; i < distinct; i++) {
+                sketch.add(ip(i));
+                sketch.add(ip(i));
+            }
+
+            double error = Math.abs(sketch.estimate() - distinct) / (double) distinct;
+            assertThat(error).isLessThan(3 * HyperLogLog.relativeError(PRECISION));
+        }
+    }
+
+    @Test
+    void mergeMatchesSingleSketch() {
+        HyperLogLog whole = new HyperLogLog(PRECISION);
+        HyperLogLog even = new HyperLogLog(PRECISION);
+        HyperLogLog odd = new HyperLogLog(PRECISION + 2);
+        for (int i = 0; i < 50_000; i++) {
+            whole.add(ip(i));
+            if (i % 2 == 0) {
+                even.add(ip(i));
+            } else {
+                odd.add(ip(i));
+            }
+        }
+
+        even.merge(odd);
+
+        assertThat(even.estimate()).isEqualTo(whole.estimate());
+        assertThat(HyperLogLog.fromBytes(whole.toBytes()).estimate()).isEqualTo(whole.estimate());
+    }
+
+    private String ip(int value) {
+        return (value >>> 24 & 255) + "." + (value >>> 16 & 255) + "." + (value >>> 8 & 255) + "." + (value & 255);
+    }
+}
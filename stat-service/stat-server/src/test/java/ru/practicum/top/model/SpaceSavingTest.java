@@ -0,0 +1,53 @@
+package ru.practicum.top.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpaceSavingTest {
+    private static final int CAPACITY = 100;
+
+    @Test
+    void countsStayWithinErrorBound() {
+        SpaceSaving<Integer> sketch = new SpaceSaving<>(CAPACITY);
+        Map<Integer, Long> exact = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            int key = (int) Math.floor(Math.pow(random.nextDouble(), 4) * 10_000);
+            sketch.offer(key);
+            exact.merge(key, 1L, Long::sum);
+        }
+
+        for (SpaceSaving.Counter<Integer> counter : sketch.top(CAPACITY)) {
+            long trueCount = exact.get(counter.getKey());
+            assertThat(counter.getCount()).isGreaterThanOrEqualTo(trueCount);
+            assertThat(counter.getCount() - counter.getError()).isLessThanOrEqualTo(trueCount);
+            assertThat(counter.getError()).isLessThanOrEqualTo(sketch.getTotal() / CAPACITY);
+        }
+        assertThat(sketch.top(1).get(0).getKey()).isEqualTo(0);
+    }
+
+    @Test
+    void mergeKeepsHeavyHitters() {
+        SpaceSaving<String> first = new SpaceSaving<>(CAPACITY);
+        SpaceSaving<String> second = new SpaceSaving<>(CAPACITY);
+        for (int i = 0; i < 10_000; i++) {
+            first.offer("/events/" + i);
+            second.offer("/events/" + (i + 5_000));
+            first.offer("/events/1");
+            second.offer("/events/2");
+        }
+
+        first.merge(second);
+
+        List<SpaceSaving.Counter<String>> top = first.top(2);
+        assertThat(top).extracting(SpaceSaving.Counter::getKey).containsExactlyInAnyOrder("/events/1", "/events/2");
+        assertThat(first.getTotal()).isEqualTo(40_000);
+        assertThat(top.get(0).getCount() - top.get(0).getError()).isLessThanOrEqualTo(10_001);
+    }
+}